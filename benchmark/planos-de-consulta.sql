@@ -0,0 +1,69 @@
+-- ============================================
+-- HEALTHPET - BENCHMARK DE PLANOS DE CONSULTA
+-- Compara o plano e o custo das consultas mais usadas antes e depois
+-- dos índices da migração V2 (src/main/resources/db/migration)
+--
+-- Como executar (a partir da raiz do projeto, com o jar do H2 do repositório Maven):
+--   java -cp ~/.m2/repository/com/h2database/h2/2.2.224/h2-2.2.224.jar \
+--        org.h2.tools.RunScript -url jdbc:h2:mem:benchmark \
+--        -script benchmark/planos-de-consulta.sql -showResults
+--
+-- Em cada EXPLAIN ANALYZE, compare a linha /* ... */ do FROM:
+--   sem índice: "PUBLIC.VACINAS.tableScan"  + "scanCount" = todas as linhas
+--   com índice: "PUBLIC.IDX_..."            + "scanCount" = só as linhas do resultado
+-- ============================================
+
+RUNSCRIPT FROM 'src/main/resources/db/migration/V1__esquema_inicial.sql';
+
+-- ---------- Massa de dados: 100 mil animais, 500 mil vacinas ----------
+
+INSERT INTO animais (id, tipo_animal, nome, especie, idade, nome_dono, telefone, raca)
+SELECT X,
+       CASEWHEN(MOD(X, 3) = 0, 'CACHORRO', CASEWHEN(MOD(X, 3) = 1, 'GATO', 'ANIMAL')),
+       'Animal ' || X, CASEWHEN(MOD(X, 2) = 0, 'Canina', 'Felina'),
+       MOD(X, 15) + 0.5, 'Dono ' || MOD(X, 40000), '11' || LPAD(X, 9, '0'), 'SRD'
+FROM SYSTEM_RANGE(1, 100000);
+
+INSERT INTO vacinas (id, animal_id, nome, data_aplicacao, proxima_dose, completa)
+SELECT X, MOD(X, 100000) + 1, 'V' || MOD(X, 10),
+       DATEADD(DAY, -MOD(X, 1000), DATE '2026-01-01'),
+       DATEADD(DAY, 365 - MOD(X, 1000), DATE '2026-01-01'),
+       MOD(X, 10) <> 0
+FROM SYSTEM_RANGE(1, 500000);
+
+ANALYZE;
+
+-- ---------- ANTES (só chaves primárias e FKs) ----------
+
+-- Vacinas vencidas
+EXPLAIN ANALYZE SELECT * FROM vacinas WHERE proxima_dose < DATE '2026-01-01' AND completa = FALSE;
+
+-- Vacinas próximas ao vencimento
+EXPLAIN ANALYZE SELECT * FROM vacinas
+WHERE proxima_dose BETWEEN DATE '2026-01-01' AND DATE '2026-01-08' AND completa = FALSE;
+
+-- Vacinas de um animal, mais recentes primeiro (no H2 a FK já tem índice próprio em animal_id)
+EXPLAIN ANALYZE SELECT * FROM vacinas WHERE animal_id = 4242 ORDER BY data_aplicacao DESC;
+
+-- Página de gatos por cursor (continua na chave primária: tipo_animal não é indexado)
+EXPLAIN ANALYZE SELECT * FROM animais WHERE tipo_animal = 'GATO' AND id > 50000 ORDER BY id LIMIT 21;
+
+-- Busca por telefone
+EXPLAIN ANALYZE SELECT * FROM animais WHERE telefone = '11000004242';
+
+-- ---------- DEPOIS (índices da V2) ----------
+
+RUNSCRIPT FROM 'src/main/resources/db/migration/V2__indices_colunas_consultadas.sql';
+
+ANALYZE;
+
+EXPLAIN ANALYZE SELECT * FROM vacinas WHERE proxima_dose < DATE '2026-01-01' AND completa = FALSE;
+
+EXPLAIN ANALYZE SELECT * FROM vacinas
+WHERE proxima_dose BETWEEN DATE '2026-01-01' AND DATE '2026-01-08' AND completa = FALSE;
+
+EXPLAIN ANALYZE SELECT * FROM vacinas WHERE animal_id = 4242 ORDER BY data_aplicacao DESC;
+
+EXPLAIN ANALYZE SELECT * FROM animais WHERE tipo_animal = 'GATO' AND id > 50000 ORDER BY id LIMIT 21;
+
+EXPLAIN ANALYZE SELECT * FROM animais WHERE telefone = '11000004242';
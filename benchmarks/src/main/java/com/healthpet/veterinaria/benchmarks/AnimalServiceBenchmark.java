@@ -0,0 +1,73 @@
+package com.healthpet.veterinaria.benchmarks;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.healthpet.veterinaria.dto.AnimalResumoDTO;
+import com.healthpet.veterinaria.model.Animal;
+import com.healthpet.veterinaria.service.AnimalService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnimalServiceBenchmark - Latência das operações mais usadas do AnimalService
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class AnimalServiceBenchmark {
+
+    private AnimalService animalService;
+
+    /** Próximo animal a ser atualizado (percorre todos, um por chamada) */
+    private long proximoId = 1;
+    private double peso = 10.0;
+
+    @Setup
+    public void iniciar(BaseDeDados base) {
+        animalService = base.bean(AnimalService.class);
+    }
+
+    @Benchmark
+    public List<AnimalResumoDTO> buscarPorNome() {
+        return animalService.buscarPorNome("Thor");
+    }
+
+    @Benchmark
+    public List<AnimalResumoDTO> listarTodos() {
+        return animalService.listarTodos();
+    }
+
+    @Benchmark
+    public Map<String, Object> obterEstatisticas() {
+        return animalService.obterEstatisticas();
+    }
+
+    @Benchmark
+    public Animal atualizarAnimalGenerico(BaseDeDados base) {
+        Long id = proximoId;
+        proximoId = proximoId % base.quantidade + 1;
+        peso += 0.1;
+        ObjectNode dados = JsonNodeFactory.instance.objectNode()
+                .put("peso", peso)
+                .put("alergias", "Pólen");
+        return animalService.atualizarAnimalGenerico(id, dados, null);
+    }
+}
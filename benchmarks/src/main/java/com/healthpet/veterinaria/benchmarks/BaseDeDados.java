@@ -0,0 +1,122 @@
+package com.healthpet.veterinaria.benchmarks;
+
+import com.healthpet.veterinaria.VeterinariaApplication;
+import com.healthpet.veterinaria.agenda.AgendaVacinas;
+import com.healthpet.veterinaria.busca.IndiceBuscaAnimais;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * BaseDeDados - Aplicação Spring e banco H2 populados para os benchmarks
+ * 
+ * Sobe o contexto da aplicação (sem servidor web) em um H2 em memória próprio,
+ * popula 'quantidade' animais (metade cachorros, metade gatos) e duas vacinas
+ * por animal via SQL (mais uma medição por animal e dez anos de medições diárias
+ * do animal 1), e recarrega o índice de busca e a agenda de vacinas.
+ * 
+ * Compartilhado por todos os métodos de um mesmo benchmark (Scope.Benchmark).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class BaseDeDados {
+
+    /**
+     * Nomes usados na massa de dados (buscarPorNome procura um deles)
+     */
+    static final String[] NOMES = {"Rex", "Mia", "Thor", "Luna", "Bob", "Nina", "Max", "Mel"};
+
+    /**
+     * Dias de histórico de peso e altura do animal 1 (uma medição por dia)
+     */
+    static final int DIAS_HISTORICO = 3650;
+
+    @Param({"10000", "100000", "1000000"})
+    public int quantidade;
+
+    private ConfigurableApplicationContext contexto;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(VeterinariaApplication.class)
+                .web(WebApplicationType.NONE)
+                // Argumentos de linha de comando têm prioridade sobre o application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark" + quantidade,
+                        "--spring.profiles.active=prod");
+        popular();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    // ========== MASSA DE DADOS ==========
+
+    private void popular() {
+        JdbcTemplate jdbc = bean(JdbcTemplate.class);
+
+        StringBuilder nome = new StringBuilder("CASE MOD(X, ").append(NOMES.length).append(")");
+        for (int i = 0; i < NOMES.length; i++) {
+            nome.append(" WHEN ").append(i).append(" THEN '").append(NOMES[i]).append("'");
+        }
+        nome.append(" END || ' ' || X");
+
+        jdbc.update("INSERT INTO animais (id, tipo_animal, nome, especie, idade, nome_dono, telefone, raca, " +
+                "porte, pelagem, temperamento) " +
+                "SELECT X, CASEWHEN(MOD(X, 2) = 0, 'CACHORRO', 'GATO'), " + nome + ", " +
+                "CASEWHEN(MOD(X, 2) = 0, 'Canina', 'Felina'), MOD(X, 15) + 0.5, 'Dono ' || MOD(X, 5000), " +
+                "'11' || LPAD(X, 9, '0'), 'SRD', " +
+                "CASEWHEN(MOD(X, 2) = 0, 'Médio', NULL), CASEWHEN(MOD(X, 2) = 0, NULL, 'Curta'), " +
+                "CASEWHEN(MOD(X, 2) = 0, NULL, 'Calmo') " +
+                "FROM SYSTEM_RANGE(1, ?)", quantidade);
+
+        // Dados clínicos ficam no prontuário (um por animal)
+        jdbc.update("INSERT INTO prontuarios (id, animal_id, peso, altura, data_criacao, ultima_atualizacao) " +
+                "SELECT X, X, 10.0, 40.0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, ?)", quantidade);
+
+        // Medição atual de cada animal + histórico diário do animal 1 (peso subindo até hoje)
+        jdbc.update("INSERT INTO medicoes (id, animal_id, data_medicao, peso, altura) " +
+                "SELECT X, X, CURRENT_TIMESTAMP, 10.0, 40.0 " +
+                "FROM SYSTEM_RANGE(1, ?)", quantidade);
+        jdbc.update("INSERT INTO medicoes (id, animal_id, data_medicao, peso, altura) " +
+                "SELECT ? + X, 1, DATEADD(DAY, -X, CURRENT_TIMESTAMP), 10.0 - X / 1000.0, 40.0 - X / 500.0 " +
+                "FROM SYSTEM_RANGE(1, ?)", quantidade, DIAS_HISTORICO);
+
+        // 10% das vacinas pendentes, com próxima dose espalhada em ±1 ano em torno de hoje
+        jdbc.update("INSERT INTO vacinas (id, animal_id, nome, data_aplicacao, proxima_dose, completa) " +
+                "SELECT X, MOD(X - 1, ?) + 1, 'V' || MOD(X, 10), DATEADD(DAY, -MOD(X, 700), CURRENT_DATE), " +
+                "DATEADD(DAY, MOD(X, 730) - 365, CURRENT_DATE), MOD(X, 10) <> 0 " +
+                "FROM SYSTEM_RANGE(1, ?)", quantidade, 2 * quantidade);
+
+        // Sequences depois dos IDs inseridos manualmente. O otimizador 'pooled' do Hibernate
+        // usa os 50 IDs ATÉ o valor lido (allocationSize = 50), então o valor é o maior ID + 50
+        reiniciarSequence(jdbc, "animais_seq", quantidade);
+        reiniciarSequence(jdbc, "vacinas_seq", 2L * quantidade);
+        reiniciarSequence(jdbc, "prontuarios_seq", quantidade);
+        reiniciarSequence(jdbc, "medicoes_seq", (long) quantidade + DIAS_HISTORICO);
+        jdbc.execute("ANALYZE");
+
+        // Os dados entraram depois da carga inicial (ApplicationReadyEvent)
+        bean(IndiceBuscaAnimais.class).carregar();
+        bean(AgendaVacinas.class).carregar();
+    }
+
+    private static void reiniciarSequence(JdbcTemplate jdbc, String sequence, long maiorId) {
+        jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maiorId + 50));
+    }
+}
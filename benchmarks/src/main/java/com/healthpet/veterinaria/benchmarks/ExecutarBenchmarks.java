@@ -0,0 +1,48 @@
+package com.healthpet.veterinaria.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * ExecutarBenchmarks - Ponto de entrada do benchmarks.jar
+ * 
+ * Aceita os mesmos argumentos do JMH (filtro de benchmarks, -p, -f, -wi, -i...).
+ * Se nenhum arquivo de resultado for informado (-rff), grava o resultado em JSON em
+ * resultados/jmh-AAAAMMDD-HHMMSS.json, para comparar execuções de commits diferentes
+ * (por exemplo, em https://jmh.morethan.io).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class ExecutarBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+        OptionsBuilder opcoes = new OptionsBuilder();
+        opcoes.parent(linhaDeComando);
+
+        if (linhaDeComando.getResult().hasValue()) {
+            new Runner(opcoes.build()).run();
+            return;
+        }
+
+        File pasta = new File("resultados");
+        pasta.mkdirs();
+        String data = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        File arquivo = new File(pasta, "jmh-" + data + ".json");
+
+        Options comResultado = opcoes
+                .resultFormat(ResultFormatType.JSON)
+                .result(arquivo.getPath())
+                .build();
+        new Runner(comResultado).run();
+        System.out.println("Resultados gravados em " + arquivo.getAbsolutePath());
+    }
+}
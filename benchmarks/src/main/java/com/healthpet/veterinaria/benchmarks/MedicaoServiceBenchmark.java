@@ -0,0 +1,56 @@
+package com.healthpet.veterinaria.benchmarks;
+
+import com.healthpet.veterinaria.dto.SerieMedicoesDTO;
+import com.healthpet.veterinaria.service.MedicaoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MedicaoServiceBenchmark - Latência da série de peso e altura de um animal
+ * com dez anos de medições diárias (BaseDeDados.DIAS_HISTORICO)
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class MedicaoServiceBenchmark {
+
+    private MedicaoService medicaoService;
+
+    @Setup
+    public void iniciar(BaseDeDados base) {
+        medicaoService = base.bean(MedicaoService.class);
+    }
+
+    /**
+     * Histórico inteiro em 100 intervalos
+     */
+    @Benchmark
+    public SerieMedicoesDTO gerarSerieCompleta() {
+        return medicaoService.gerarSerie(1L, null, null, null);
+    }
+
+    /**
+     * Último ano, um intervalo por semana
+     */
+    @Benchmark
+    public SerieMedicoesDTO gerarSerieUltimoAno() {
+        return medicaoService.gerarSerie(1L, LocalDateTime.now().minusYears(1), null, 52);
+    }
+}
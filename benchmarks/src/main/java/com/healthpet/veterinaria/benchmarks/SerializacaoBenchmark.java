@@ -0,0 +1,79 @@
+package com.healthpet.veterinaria.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthpet.veterinaria.dto.AnimalResumoDTO;
+import com.healthpet.veterinaria.model.Animal;
+import com.healthpet.veterinaria.model.Cachorro;
+import com.healthpet.veterinaria.model.Gato;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SerializacaoBenchmark - Custo de converter listas de Cachorro e Gato em JSON
+ * 
+ * Usa um ObjectMapper configurado como o do Spring MVC, sem banco de dados.
+ * serializarResumos = mesma lista como devolvida pelas listagens (AnimalResumoDTO).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+
+    /** Quantidade de animais na lista serializada (1 = resposta de /api/animais/{id}) */
+    @Param({"1", "100", "10000"})
+    public int tamanho;
+
+    private ObjectMapper objectMapper;
+    private List<Animal> animais;
+    private List<AnimalResumoDTO> resumos;
+
+    @Setup
+    public void iniciar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        animais = new ArrayList<>(tamanho);
+        resumos = new ArrayList<>(tamanho);
+        for (int i = 1; i <= tamanho; i++) {
+            Animal animal = (i % 2 == 0)
+                    ? new Cachorro("Rex " + i, "Canina", 3.5, "Dono " + i, "11999990000", "SRD", "Médio")
+                    : new Gato("Mia " + i, "Felina", 2.0, "Dono " + i, "11999990000", "Siamês", "Curta", "Calmo");
+            animal.setId((long) i);
+            animais.add(animal);
+            resumos.add(new AnimalResumoDTO(animal.getId(), animal.getTipoAnimal(), animal.getNome(),
+                    animal.getEspecie(), animal.getRaca(), animal.getIdade(), animal.getNomeDono(),
+                    animal.getTelefone(),
+                    animal instanceof Cachorro cachorro ? cachorro.getPorte() : null,
+                    animal instanceof Gato gato ? gato.getPelagem() : null));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(animais);
+    }
+
+    @Benchmark
+    public byte[] serializarResumos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resumos);
+    }
+}
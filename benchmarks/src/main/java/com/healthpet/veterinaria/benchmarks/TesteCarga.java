@@ -0,0 +1,196 @@
+package com.healthpet.veterinaria.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * TesteCarga - Gerador de carga HTTP contra a aplicação em execução
+ * 
+ * Dispara requisições GET contínuas de 'concorrencia' clientes simultâneos durante
+ * 'duracao' segundos e mede vazão (req/s), latências (p50, p95, p99) e erros
+ * (incluindo 503 do GuardaConexoesFilter).
+ * 
+ * Para comparar os modos de execução, rode a aplicação duas vezes e o teste contra cada uma:
+ *   java -jar target/sistema-veterinaria-1.0.0.jar --spring.profiles.active=prod
+ *   java -jar target/sistema-veterinaria-1.0.0.jar --spring.profiles.active=prod --spring.threads.virtual.enabled=true  (JDK 21+)
+ *   java -cp benchmarks/target/benchmarks.jar com.healthpet.veterinaria.benchmarks.TesteCarga \
+ *        url=http://localhost:8080 concorrencia=400 duracao=30 rotulo=virtual
+ * 
+ * Parâmetros (nome=valor, todos opcionais):
+ *   url          endereço da aplicação (padrão http://localhost:8080)
+ *   caminhos     endpoints separados por vírgula, usados em rodízio
+ *   concorrencia clientes simultâneos (padrão 200)
+ *   duracao      segundos de medição, após 5 s de aquecimento (padrão 30)
+ *   rotulo       nome do modo testado, vai no nome do arquivo de resultado
+ * 
+ * O resultado também é gravado em JSON em resultados/carga-ROTULO-AAAAMMDD-HHMMSS.json.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class TesteCarga {
+
+    private static final String CAMINHOS_PADRAO =
+            "/api/animais/1,/api/animais/1/ficha,/api/vacinas/vencidas,/api/vacinas/proximas,/api/dashboard/resumo";
+
+    private static final int AQUECIMENTO_SEGUNDOS = 5;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> parametros = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] partes = arg.split("=", 2);
+            if (partes.length == 2) {
+                parametros.put(partes[0], partes[1]);
+            }
+        }
+
+        String url = parametros.getOrDefault("url", "http://localhost:8080");
+        List<String> caminhos = Arrays.asList(parametros.getOrDefault("caminhos", CAMINHOS_PADRAO).split(","));
+        int concorrencia = Integer.parseInt(parametros.getOrDefault("concorrencia", "200"));
+        int duracao = Integer.parseInt(parametros.getOrDefault("duracao", "30"));
+        String rotulo = parametros.getOrDefault("rotulo", "padrao");
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+
+        System.out.printf("Aquecendo %d s com %d clientes em %s...%n", AQUECIMENTO_SEGUNDOS, concorrencia, url);
+        executar(cliente, url, caminhos, concorrencia, AQUECIMENTO_SEGUNDOS);
+
+        System.out.printf("Medindo %d s...%n", duracao);
+        Medicao medicao = executar(cliente, url, caminhos, concorrencia, duracao);
+
+        Map<String, Object> resultado = medicao.resumo(duracao);
+        resultado.put("rotulo", rotulo);
+        resultado.put("url", url);
+        resultado.put("concorrencia", concorrencia);
+        resultado.put("caminhos", caminhos);
+        resultado.forEach((chave, valor) -> System.out.printf("  %-14s %s%n", chave, valor));
+
+        gravar(resultado, rotulo);
+        System.exit(0);
+    }
+
+    /**
+     * Cada cliente faz uma requisição por vez, em sequência, até acabar o tempo
+     */
+    private static Medicao executar(HttpClient cliente, String url, List<String> caminhos,
+                                    int concorrencia, int segundos) throws InterruptedException {
+        Medicao medicao = new Medicao();
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        ExecutorService clientes = Executors.newFixedThreadPool(concorrencia);
+
+        for (int c = 0; c < concorrencia; c++) {
+            int inicio = c;
+            clientes.submit(() -> {
+                int i = inicio;
+                List<Long> latencias = new ArrayList<>();
+                while (System.nanoTime() < fim) {
+                    HttpRequest requisicao = HttpRequest.newBuilder(URI.create(url + caminhos.get(i++ % caminhos.size())))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build();
+                    long antes = System.nanoTime();
+                    try {
+                        HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                        if (resposta.statusCode() >= 400) {
+                            medicao.erros.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        medicao.erros.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    latencias.add(System.nanoTime() - antes);
+                }
+                medicao.adicionar(latencias);
+            });
+        }
+
+        clientes.shutdown();
+        clientes.awaitTermination(segundos + 60L, TimeUnit.SECONDS);
+        return medicao;
+    }
+
+    private static void gravar(Map<String, Object> resultado, String rotulo) throws IOException {
+        File pasta = new File("resultados");
+        pasta.mkdirs();
+        String data = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        File arquivo = new File(pasta, "carga-" + rotulo + "-" + data + ".json");
+
+        String json = resultado.entrySet().stream()
+                .map(e -> "  \"" + e.getKey() + "\": " + emJson(e.getValue()))
+                .collect(Collectors.joining(",\n", "{\n", "\n}\n"));
+        Files.writeString(arquivo.toPath(), json);
+        System.out.println("Resultado gravado em " + arquivo.getAbsolutePath());
+    }
+
+    private static String emJson(Object valor) {
+        if (valor instanceof Number) {
+            return valor.toString();
+        }
+        if (valor instanceof List<?> lista) {
+            return lista.stream().map(TesteCarga::emJson).collect(Collectors.joining(", ", "[", "]"));
+        }
+        return "\"" + valor.toString().replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Latências (ns) e erros de todos os clientes
+     */
+    private static class Medicao {
+
+        private final List<Long> latencias = new ArrayList<>();
+        private final AtomicLong erros = new AtomicLong();
+
+        synchronized void adicionar(List<Long> doCliente) {
+            latencias.addAll(doCliente);
+        }
+
+        synchronized Map<String, Object> resumo(int segundos) {
+            long[] ordenadas = latencias.stream().mapToLong(Long::longValue).sorted().toArray();
+            Map<String, Object> resumo = new LinkedHashMap<>();
+            resumo.put("requisicoes", ordenadas.length);
+            resumo.put("erros", erros.get());
+            resumo.put("vazaoPorSeg", arredondar((double) ordenadas.length / segundos));
+            resumo.put("p50Ms", percentil(ordenadas, 0.50));
+            resumo.put("p95Ms", percentil(ordenadas, 0.95));
+            resumo.put("p99Ms", percentil(ordenadas, 0.99));
+            resumo.put("maxMs", ordenadas.length == 0 ? 0.0 : arredondar(ordenadas[ordenadas.length - 1] / 1e6));
+            return resumo;
+        }
+
+        private static double percentil(long[] ordenadas, double p) {
+            if (ordenadas.length == 0) {
+                return 0.0;
+            }
+            int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+            return arredondar(ordenadas[Math.max(0, indice)] / 1e6);
+        }
+
+        private static double arredondar(double valor) {
+            return Double.parseDouble(String.format(Locale.ROOT, "%.2f", valor));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.healthpet.veterinaria.benchmarks;
+
+import com.healthpet.veterinaria.model.Vacina;
+import com.healthpet.veterinaria.service.VacinaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VacinaServiceBenchmark - Latência das consultas de vacinas vencidas e próximas
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class VacinaServiceBenchmark {
+
+    private VacinaService vacinaService;
+
+    @Setup
+    public void iniciar(BaseDeDados base) {
+        vacinaService = base.bean(VacinaService.class);
+    }
+
+    @Benchmark
+    public List<Vacina> buscarVacinasVencidas() {
+        return vacinaService.buscarVacinasVencidas();
+    }
+
+    @Benchmark
+    public List<Vacina> buscarVacinasProximas() {
+        return vacinaService.buscarVacinasProximas();
+    }
+}
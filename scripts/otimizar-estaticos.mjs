@@ -0,0 +1,199 @@
+// ============================================
+// HEALTHPET - OTIMIZAÇÃO DOS ARQUIVOS ESTÁTICOS (BUILD)
+// Minifica CSS/JS e gera as versões pré-compactadas .gz e .br ao lado de cada um.
+// O Spring serve a versão compactada que o navegador aceitar e põe o hash do
+// conteúdo na URL (ver RecursosEstaticosConfig).
+//
+// Roda no build com: mvn -Pestaticos package   (Node.js 18+, sem dependências)
+// Ou direto:         node scripts/otimizar-estaticos.mjs target/classes/static
+//
+// A minificação é conservadora: remove comentários, indentação e espaços
+// desnecessários, mantendo as quebras de linha do JS (sem risco com a inserção
+// automática de ponto e vírgula). O JS resultante é conferido antes de gravar.
+// ============================================
+
+import { readdirSync, readFileSync, writeFileSync, statSync, rmSync } from 'node:fs';
+import { join, extname, relative } from 'node:path';
+import { gzipSync, brotliCompressSync, constants } from 'node:zlib';
+import { Script } from 'node:vm';
+
+const pasta = process.argv[2] ?? 'target/classes/static';
+
+// Arquivos menores que isto não compensam compactar
+const TAMANHO_MINIMO = 1024;
+
+// ========== MINIFICAÇÃO DE CSS ==========
+
+// Em volta destes caracteres o espaço nunca é necessário
+const CSS_SEM_ESPACO = new Set(['{', '}', ';', ',', '>']);
+
+function minificarCss(css) {
+    let saida = '';
+    let espacoPendente = false;
+
+    function emitir(texto) {
+        const anterior = saida.slice(-1);
+        if (espacoPendente && anterior && !CSS_SEM_ESPACO.has(anterior) && !CSS_SEM_ESPACO.has(texto[0])) {
+            saida += ' ';
+        }
+        espacoPendente = false;
+        if (texto === '}' && anterior === ';') {
+            saida = saida.slice(0, -1);
+        }
+        saida += texto;
+    }
+
+    for (let i = 0; i < css.length; i++) {
+        const c = css[i];
+        if (c === '"' || c === "'") {
+            const fim = fimDaString(css, i, c);
+            emitir(css.slice(i, fim));
+            i = fim - 1;
+        } else if (c === '/' && css[i + 1] === '*') {
+            i = css.indexOf('*/', i + 2) + 1;
+            espacoPendente = true;
+        } else if (/\s/.test(c)) {
+            espacoPendente = true;
+        } else {
+            emitir(c);
+        }
+    }
+    return saida;
+}
+
+// ========== MINIFICAÇÃO DE JS ==========
+
+const PALAVRA = /[A-Za-z0-9_$\u0080-￿]/;
+const ANTES_DE_REGEX = new Set(['', '(', ',', '=', ':', '[', '!', '&', '|', '?', '{', '}', ';', '+', '-', '*', '%', '<', '>', '~', '^']);
+const PALAVRAS_ANTES_DE_REGEX = new Set(['return', 'typeof', 'case', 'do', 'else', 'in', 'of', 'new', 'delete', 'void', 'throw']);
+// Depois destes caracteres a quebra de linha nunca muda o significado
+const QUEBRA_DESNECESSARIA = new Set(['', '\n', '{', '(', '[', ',', ';']);
+
+function minificarJs(js) {
+    let saida = '';
+    let espacoPendente = false;
+    let quebraPendente = false;
+
+    const ultimoSignificativo = () => saida.trimEnd().slice(-1);
+    const ultimaPalavra = () => (saida.match(/[A-Za-z_$]+$/) ?? [''])[0];
+
+    function emitir(texto) {
+        const primeiro = texto[0];
+        if (quebraPendente && !QUEBRA_DESNECESSARIA.has(saida.slice(-1))) {
+            saida += '\n';
+        } else if (espacoPendente) {
+            const anterior = saida.slice(-1);
+            if ((PALAVRA.test(anterior) && PALAVRA.test(primeiro)) ||
+                ((anterior === '+' || anterior === '-') && anterior === primeiro)) {
+                saida += ' ';
+            }
+        }
+        espacoPendente = quebraPendente = false;
+        saida += texto;
+    }
+
+    for (let i = 0; i < js.length; i++) {
+        const c = js[i];
+        if (c === '"' || c === "'" || c === '`') {
+            const fim = fimDaString(js, i, c);
+            emitir(js.slice(i, fim));
+            i = fim - 1;
+        } else if (c === '/' && js[i + 1] === '/') {
+            const fim = js.indexOf('\n', i);
+            if (fim < 0) break;
+            i = fim - 1;
+        } else if (c === '/' && js[i + 1] === '*') {
+            const fim = js.indexOf('*/', i + 2);
+            if (js.slice(i, fim).includes('\n')) quebraPendente = true;
+            else espacoPendente = true;
+            i = fim + 1;
+        } else if (c === '/' && (ANTES_DE_REGEX.has(ultimoSignificativo()) ||
+                                 PALAVRAS_ANTES_DE_REGEX.has(ultimaPalavra()))) {
+            const fim = fimDaRegex(js, i);
+            emitir(js.slice(i, fim));
+            i = fim - 1;
+        } else if (c === '\n') {
+            quebraPendente = true;
+        } else if (/\s/.test(c)) {
+            espacoPendente = true;
+        } else {
+            emitir(c);
+        }
+    }
+    return saida;
+}
+
+function fimDaString(texto, inicio, aspas) {
+    for (let i = inicio + 1; i < texto.length; i++) {
+        if (texto[i] === '\\') i++;
+        else if (texto[i] === aspas) return i + 1;
+    }
+    throw new Error('String sem fechamento na posição ' + inicio);
+}
+
+function fimDaRegex(texto, inicio) {
+    let classe = false;
+    for (let i = inicio + 1; i < texto.length; i++) {
+        const c = texto[i];
+        if (c === '\\') i++;
+        else if (c === '[') classe = true;
+        else if (c === ']') classe = false;
+        else if (c === '/' && !classe) return i + 1;
+        else if (c === '\n') break;
+    }
+    throw new Error('Expressão regular sem fechamento na posição ' + inicio);
+}
+
+// ========== PROCESSAMENTO ==========
+
+function arquivos(dir) {
+    return readdirSync(dir).flatMap(nome => {
+        const caminho = join(dir, nome);
+        return statSync(caminho).isDirectory() ? arquivos(caminho) : [caminho];
+    });
+}
+
+const MINIFICADORES = { '.css': minificarCss, '.js': minificarJs };
+
+let totalAntes = 0;
+let totalDepois = 0;
+
+for (const arquivo of arquivos(pasta)) {
+    // O HTML não entra: o Spring reescreve os links dele ao servir (LinksHtmlTransformer)
+    const extensao = extname(arquivo);
+    const minificar = MINIFICADORES[extensao];
+    if (!minificar) continue;
+
+    const original = readFileSync(arquivo, 'utf8');
+    const conteudo = minificar(original);
+    if (extensao === '.js') {
+        // Falha o build se a minificação quebrou a sintaxe
+        new Script(conteudo, { filename: arquivo });
+    }
+    writeFileSync(arquivo, conteudo);
+
+    const bytes = Buffer.from(conteudo);
+    const linha = [relative(pasta, arquivo), Buffer.byteLength(original), bytes.length];
+    if (bytes.length >= TAMANHO_MINIMO) {
+        const gz = gzipSync(bytes, { level: 9 });
+        const br = brotliCompressSync(bytes, {
+            params: {
+                [constants.BROTLI_PARAM_MODE]: constants.BROTLI_MODE_TEXT,
+                [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+                [constants.BROTLI_PARAM_SIZE_HINT]: bytes.length
+            }
+        });
+        writeFileSync(arquivo + '.gz', gz);
+        writeFileSync(arquivo + '.br', br);
+        linha.push(gz.length, br.length);
+    } else {
+        // Ficou pequeno demais: não deixa para trás os compactados de um build anterior
+        rmSync(arquivo + '.gz', { force: true });
+        rmSync(arquivo + '.br', { force: true });
+    }
+    totalAntes += linha[1];
+    totalDepois += linha[linha.length - 1];
+    console.log(linha.join('\t'));
+}
+
+console.log(`Total: ${totalAntes} bytes → ${totalDepois} bytes (menor versão de cada arquivo)`);
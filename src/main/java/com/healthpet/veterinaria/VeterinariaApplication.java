@@ -2,6 +2,7 @@ package com.healthpet.veterinaria;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * VeterinariaApplication - CLASSE PRINCIPAL
@@ -17,6 +18,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  *   - @Configuration: Marca como classe de configuração
  *   - @EnableAutoConfiguration: Habilita configuração automática
  *   - @ComponentScan: Escaneia pacotes buscando componentes
+ * @EnableScheduling - Habilita tarefas agendadas (@Scheduled), como a virada de dia da agenda de vacinas
  * 
  * Como executar:
  * 1. Pelo VSCode: Clique em "Run" acima do método main()
@@ -32,6 +34,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @version 2.0
  */
 @SpringBootApplication
+@EnableScheduling
 public class VeterinariaApplication {
 
     /**
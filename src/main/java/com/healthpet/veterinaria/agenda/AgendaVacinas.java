@@ -0,0 +1,187 @@
+package com.healthpet.veterinaria.agenda;
+
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+import com.healthpet.veterinaria.repository.VacinaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * AgendaVacinas - Fila de próximas doses mantida em memória
+ * 
+ * Guarda apenas as vacinas pendentes (não completas e com próxima dose),
+ * ordenadas pela data da próxima dose em um TreeMap (data → IDs).
+ * 
+ * - Vencidas: todas as datas antes de hoje   → headMap(hoje)
+ * - Próximas: de hoje até hoje + 7 dias      → subMap(hoje, hoje + 7)
+ * Custo O(log n + k), sem varrer a tabela de vacinas.
+ * 
+ * A data de hoje é recalculada pelo agendamento à meia-noite, e não a cada requisição.
+ * Na virada o contador de vacinas também é incrementado, porque o status das vacinas
+ * (vencida, próxima) muda com a data e as listagens não podem continuar respondendo 304.
+ * A agenda é carregada ao iniciar (pelo AquecimentoService) e atualizada pelo AgendaVacinasListener após
+ * o commit de cada vacina registrada, alterada, completada ou removida.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Component
+public class AgendaVacinas {
+
+    private static final Logger log = LoggerFactory.getLogger(AgendaVacinas.class);
+
+    /**
+     * Janela de "próximas ao vencimento", igual à de VacinaService
+     */
+    public static final int DIAS_PROXIMAS = 7;
+
+    @Autowired
+    private VacinaRepository vacinaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ContadorAlteracoes contadorAlteracoes;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Data da próxima dose → IDs das vacinas pendentes */
+    private final NavigableMap<LocalDate, Set<Long>> porData = new TreeMap<>();
+
+    /** ID da vacina → data em que está na agenda (para atualizar/remover) */
+    private final Map<Long, LocalDate> dataPorVacina = new HashMap<>();
+
+    private volatile LocalDate hoje = LocalDate.now();
+    private volatile boolean pronta = false;
+
+    // ========== CARGA E AGENDAMENTO ==========
+
+    public void carregar() {
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        leitura.executeWithoutResult(status -> {
+            try (Stream<VacinaRepository.DoseAgendada> doses = vacinaRepository.streamDosesPendentes()) {
+                doses.forEach(d -> agendar(d.getId(), d.getProximaDose(), false));
+            }
+        });
+        pronta = true;
+        log.info("Agenda de vacinas carregada: {} doses pendentes", tamanho());
+    }
+
+    /**
+     * Vira o dia da agenda à meia-noite
+     */
+    @Scheduled(cron = "0 0 0 * * *")
+    public void virarDia() {
+        hoje = LocalDate.now();
+        contadorAlteracoes.alterada(Tabela.VACINAS);
+        log.info("Agenda de vacinas: {} vencidas e {} próximas em {}",
+                vencidas().size(), proximas().size(), hoje);
+    }
+
+    public boolean isPronta() {
+        return pronta;
+    }
+
+    public LocalDate getHoje() {
+        return hoje;
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return dataPorVacina.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== ATUALIZAÇÃO ==========
+
+    /**
+     * Inclui, move ou remove a vacina conforme seu estado atual
+     */
+    public void agendar(Long id, LocalDate proximaDose, boolean completa) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            if (proximaDose != null && !completa) {
+                porData.computeIfAbsent(proximaDose, d -> new LinkedHashSet<>()).add(id);
+                dataPorVacina.put(id, proximaDose);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removerSemLock(Long id) {
+        LocalDate anterior = dataPorVacina.remove(id);
+        if (anterior != null) {
+            Set<Long> ids = porData.get(anterior);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                porData.remove(anterior);
+            }
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * IDs das vacinas vencidas (próxima dose antes de hoje), da mais antiga para a mais recente
+     */
+    public List<Long> vencidas() {
+        LocalDate dia = hoje;
+        return idsEntre(porData -> porData.headMap(dia, false));
+    }
+
+    /**
+     * IDs das vacinas com próxima dose entre hoje e hoje + 7 dias, em ordem de data
+     */
+    public List<Long> proximas() {
+        LocalDate dia = hoje;
+        return idsEntre(porData -> porData.subMap(dia, true, dia.plusDays(DIAS_PROXIMAS), true));
+    }
+
+    private List<Long> idsEntre(UnaryOperator<NavigableMap<LocalDate, Set<Long>>> faixa) {
+        lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            for (Set<Long> doDia : faixa.apply(porData).values()) {
+                ids.addAll(doDia);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
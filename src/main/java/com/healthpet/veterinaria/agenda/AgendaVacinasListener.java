@@ -0,0 +1,46 @@
+package com.healthpet.veterinaria.agenda;
+
+import com.healthpet.veterinaria.alteracoes.Transacoes;
+import com.healthpet.veterinaria.model.Vacina;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+
+/**
+ * AgendaVacinasListener - Mantém a AgendaVacinas sincronizada com o banco
+ * 
+ * Listener JPA registrado em Vacina (@EntityListeners). A agenda só é alterada
+ * depois do commit, para que um rollback não deixe a agenda diferente do banco.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class AgendaVacinasListener {
+
+    /**
+     * Resolvido só no uso: o listener é criado junto com o EntityManagerFactory,
+     * antes da agenda (que depende do VacinaRepository) existir
+     */
+    @Autowired
+    private ObjectProvider<AgendaVacinas> agenda;
+
+    @PostPersist
+    @PostUpdate
+    public void aposGravar(Vacina vacina) {
+        // Valores lidos agora: a entidade pode mudar de novo antes do commit
+        Long id = vacina.getId();
+        LocalDate proximaDose = vacina.getProximaDose();
+        boolean completa = Boolean.TRUE.equals(vacina.getCompleta());
+        Transacoes.aposCommit(() -> agenda.getObject().agendar(id, proximaDose, completa));
+    }
+
+    @PostRemove
+    public void aposRemover(Vacina vacina) {
+        Long id = vacina.getId();
+        Transacoes.aposCommit(() -> agenda.getObject().remover(id));
+    }
+}
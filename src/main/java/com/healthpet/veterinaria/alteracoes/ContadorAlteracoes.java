@@ -0,0 +1,68 @@
+package com.healthpet.veterinaria.alteracoes;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ContadorAlteracoes - Contador de alterações por tabela, para ETag das listagens
+ * 
+ * Cada INSERT/UPDATE/DELETE confirmado em animais, vacinas ou prontuários incrementa
+ * o contador da tabela (ContadorAlteracoesListener). O ETag de uma listagem é o contador
+ * da tabela que ela lê: se não mudou, o resultado também não mudou e o controller
+ * responde 304 sem consultar o banco.
+ * O de vacinas também muda na virada do dia (AgendaVacinas), porque o status delas depende da data.
+ * 
+ * O ETag inclui o instante em que a aplicação iniciou, porque os contadores recomeçam
+ * do zero a cada início (e o banco em arquivo pode ter mudado nesse meio tempo).
+ * Só vale para alterações feitas pela aplicação via JPA (SQL direto no console H2 não é visto).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Component
+public class ContadorAlteracoes {
+
+    public enum Tabela {
+        ANIMAIS, VACINAS, PRONTUARIOS, MEDICOES
+    }
+
+    private final String inicio = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Tabela, AtomicLong> contadores = new EnumMap<>(Tabela.class);
+
+    public ContadorAlteracoes() {
+        for (Tabela tabela : Tabela.values()) {
+            contadores.put(tabela, new AtomicLong());
+        }
+    }
+
+    /**
+     * Registra uma alteração confirmada na tabela
+     */
+    public void alterada(Tabela tabela) {
+        contadores.get(tabela).incrementAndGet();
+    }
+
+    /**
+     * ETag forte do conteúdo atual da tabela ("lz3k9a-17")
+     * 
+     * Deve ser obtido ANTES da consulta: se uma alteração for confirmada no meio,
+     * a resposta leva o ETag antigo e é buscada de novo na próxima vez
+     * (o contrário guardaria dados antigos com o ETag novo).
+     * 
+     * Respostas que leem mais de uma tabela (?include=) combinam os contadores ("lz3k9a-17.4").
+     */
+    public String etag(Tabela... tabelas) {
+        StringBuilder etag = new StringBuilder("\"").append(inicio).append('-');
+        for (int i = 0; i < tabelas.length; i++) {
+            if (i > 0) {
+                etag.append('.');
+            }
+            etag.append(contadores.get(tabelas[i]).get());
+        }
+        return etag.append('"').toString();
+    }
+}
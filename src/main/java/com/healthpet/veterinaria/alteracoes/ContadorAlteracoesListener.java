@@ -0,0 +1,53 @@
+package com.healthpet.veterinaria.alteracoes;
+
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+import com.healthpet.veterinaria.model.Animal;
+import com.healthpet.veterinaria.model.Medicao;
+import com.healthpet.veterinaria.model.Prontuario;
+import com.healthpet.veterinaria.model.Vacina;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * ContadorAlteracoesListener - Incrementa o ContadorAlteracoes a cada alteração
+ * 
+ * Listener JPA registrado em Animal, Vacina e Prontuario (@EntityListeners).
+ * O contador só muda depois do commit: antes disso quem consulta ainda vê os dados antigos.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class ContadorAlteracoesListener {
+
+    @Autowired
+    private ObjectProvider<ContadorAlteracoes> contador;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void aposAlterar(Object entidade) {
+        Tabela tabela = tabelaDe(entidade);
+        if (tabela != null) {
+            Transacoes.aposCommit(() -> contador.getObject().alterada(tabela));
+        }
+    }
+
+    private Tabela tabelaDe(Object entidade) {
+        if (entidade instanceof Animal) {
+            return Tabela.ANIMAIS;
+        }
+        if (entidade instanceof Vacina) {
+            return Tabela.VACINAS;
+        }
+        if (entidade instanceof Prontuario) {
+            return Tabela.PRONTUARIOS;
+        }
+        if (entidade instanceof Medicao) {
+            return Tabela.MEDICOES;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.healthpet.veterinaria.alteracoes;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transacoes - Ações que só podem acontecer depois do commit
+ *
+ * Usado pelos listeners JPA (contador de alterações, agenda, índice de busca, auditoria)
+ * e pelo ControleVersao: o que fica em memória só muda quando o banco já mudou,
+ * então um rollback não deixa nada diferente do banco.
+ *
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public final class Transacoes {
+
+    private Transacoes() {
+    }
+
+    /**
+     * Executa a ação após o commit da transação atual
+     * (na hora, se não houver transação com sincronização ativa)
+     */
+    public static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
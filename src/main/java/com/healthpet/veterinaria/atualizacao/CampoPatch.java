@@ -0,0 +1,63 @@
+package com.healthpet.veterinaria.atualizacao;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * CampoPatch - Um campo atualizável por JSON Merge Patch
+ * 
+ * Liga o nome do campo no JSON ao getter/setter da entidade (referências de
+ * método, sem reflexão) e a um leitor que converte o valor JSON para o tipo do campo.
+ * 
+ * @param <E> entidade da tabela (ex.: Animal)
+ * @author Felipe Brito
+ * @version 1.0
+ */
+final class CampoPatch<E> {
+
+    private final String nome;
+    private final Class<? extends E> dono;
+    private final Function<JsonNode, Object> leitor;
+    private final Function<E, Object> getter;
+    private final BiConsumer<E, Object> setter;
+
+    @SuppressWarnings("unchecked")
+    <S extends E, V> CampoPatch(String nome, Class<S> dono, Function<JsonNode, V> leitor,
+                                Function<S, V> getter, BiConsumer<S, V> setter) {
+        this.nome = nome;
+        this.dono = dono;
+        this.leitor = (Function<JsonNode, Object>) leitor;
+        // Só é chamado depois de conferir dono.isInstance(entidade)
+        this.getter = entidade -> getter.apply((S) entidade);
+        this.setter = (entidade, valor) -> setter.accept((S) entidade, (V) valor);
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    Class<? extends E> getDono() {
+        return dono;
+    }
+
+    /**
+     * Converte o valor JSON (null do Merge Patch = limpar o campo)
+     */
+    Object ler(JsonNode valor) {
+        return valor.isNull() ? null : leitor.apply(valor);
+    }
+
+    boolean seAplica(E entidade) {
+        return dono.isInstance(entidade);
+    }
+
+    Object obter(E entidade) {
+        return getter.apply(entidade);
+    }
+
+    void definir(E entidade, Object valor) {
+        setter.accept(entidade, valor);
+    }
+}
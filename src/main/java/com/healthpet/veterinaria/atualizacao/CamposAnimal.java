@@ -0,0 +1,33 @@
+package com.healthpet.veterinaria.atualizacao;
+
+import com.healthpet.veterinaria.model.Animal;
+import com.healthpet.veterinaria.model.Cachorro;
+import com.healthpet.veterinaria.model.Gato;
+
+/**
+ * CamposAnimal - Campos de Animal, Cachorro e Gato que o PUT/PATCH pode alterar
+ * 
+ * Para tornar um novo campo editável, basta incluí-lo aqui.
+ * Peso, alergias etc. enviados no mesmo corpo vão para o prontuário (CamposProntuario).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public final class CamposAnimal {
+
+    public static final TabelaCampos<Animal> TABELA = new TabelaCampos<Animal>()
+            // Campos básicos
+            .texto("nome", Animal.class, Animal::getNome, Animal::setNome)
+            .texto("especie", Animal.class, Animal::getEspecie, Animal::setEspecie)
+            .numero("idade", Animal.class, Animal::getIdade, Animal::setIdade)
+            .texto("nomeDono", Animal.class, Animal::getNomeDono, Animal::setNomeDono)
+            .texto("telefone", Animal.class, Animal::getTelefone, Animal::setTelefone)
+            .texto("raca", Animal.class, Animal::getRaca, Animal::setRaca)
+            // Específicos de Cachorro e Gato
+            .texto("porte", Cachorro.class, Cachorro::getPorte, Cachorro::setPorte)
+            .texto("pelagem", Gato.class, Gato::getPelagem, Gato::setPelagem)
+            .texto("temperamento", Gato.class, Gato::getTemperamento, Gato::setTemperamento);
+
+    private CamposAnimal() {
+    }
+}
@@ -0,0 +1,28 @@
+package com.healthpet.veterinaria.atualizacao;
+
+import com.healthpet.veterinaria.model.Prontuario;
+
+/**
+ * CamposProntuario - Dados clínicos que o cadastro (POST) e o PUT/PATCH de animal ainda aceitam
+ * 
+ * Desde a migração V5 eles existem só no prontuário; quando chegam no corpo
+ * do cadastro ou da atualização do animal, são gravados no prontuário dele
+ * (criado se não existir).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public final class CamposProntuario {
+
+    public static final TabelaCampos<Prontuario> TABELA = new TabelaCampos<Prontuario>()
+            .numero("peso", Prontuario.class, Prontuario::getPeso, Prontuario::setPeso)
+            .numero("altura", Prontuario.class, Prontuario::getAltura, Prontuario::setAltura)
+            .texto("alergias", Prontuario.class, Prontuario::getAlergias, Prontuario::setAlergias)
+            .texto("medicamentosEmUso", Prontuario.class,
+                    Prontuario::getMedicamentosEmUso, Prontuario::setMedicamentosEmUso)
+            .texto("condicoesPreExistentes", Prontuario.class,
+                    Prontuario::getCondicoesPreExistentes, Prontuario::setCondicoesPreExistentes);
+
+    private CamposProntuario() {
+    }
+}
@@ -0,0 +1,57 @@
+package com.healthpet.veterinaria.atualizacao;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Patch - Atualização já lida e validada (ver TabelaCampos.compilar)
+ * 
+ * @param <E> entidade
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public final class Patch<E> {
+
+    /**
+     * Campo e valor já convertido
+     */
+    record Valor<E>(CampoPatch<E> campo, Object valor) {
+    }
+
+    private final List<Valor<E>> valores;
+
+    Patch(List<Valor<E>> valores) {
+        this.valores = List.copyOf(valores);
+    }
+
+    /**
+     * Nenhum campo conhecido no corpo recebido
+     */
+    public boolean isVazio() {
+        return valores.isEmpty();
+    }
+
+    /**
+     * Aplica os campos que existem no tipo da entidade
+     * (ex.: 'porte' só em Cachorro) e devolve os que realmente mudaram de valor
+     */
+    public Set<String> aplicar(E entidade) {
+        Set<String> alterados = new LinkedHashSet<>();
+        for (Valor<E> v : valores) {
+            CampoPatch<E> campo = v.campo();
+            if (!campo.seAplica(entidade)) {
+                continue;
+            }
+
+            Object anterior = campo.obter(entidade);
+            campo.definir(entidade, v.valor());
+            // Compara com o valor lido de volta: o setter pode normalizar (ex.: raça vazia)
+            if (!Objects.equals(anterior, campo.obter(entidade))) {
+                alterados.add(campo.getNome());
+            }
+        }
+        return alterados;
+    }
+}
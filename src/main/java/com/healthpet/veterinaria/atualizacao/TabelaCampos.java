@@ -0,0 +1,102 @@
+package com.healthpet.veterinaria.atualizacao;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * TabelaCampos - Tabela nome do campo → setter de uma entidade, para JSON Merge Patch (RFC 7396)
+ * 
+ * Montada uma vez por tipo de entidade (ver CamposAnimal). Cada corpo recebido é
+ * compilado contra a tabela: só os campos presentes são lidos, convertidos e validados
+ * (mesmas anotações da entidade: @NotBlank, @Positive...), sem passar por Map<String, Object>.
+ * O Patch resultante pode ser aplicado mais de uma vez (ControleVersao repete a alteração).
+ * 
+ * Campos desconhecidos (id, versao, tipoAnimal, campos calculados que o frontend
+ * reenvia) são ignorados, como antes.
+ * 
+ * @param <E> entidade (ex.: Animal; campos de subclasses só se aplicam a elas)
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public final class TabelaCampos<E> {
+
+    private final Map<String, CampoPatch<E>> campos = new HashMap<>();
+
+    // ========== MONTAGEM ==========
+
+    public <S extends E> TabelaCampos<E> texto(String nome, Class<S> dono,
+                                              Function<S, String> getter, BiConsumer<S, String> setter) {
+        return adicionar(new CampoPatch<E>(nome, dono, valor -> lerTexto(nome, valor), getter, setter));
+    }
+
+    public <S extends E> TabelaCampos<E> numero(String nome, Class<S> dono,
+                                               Function<S, Double> getter, BiConsumer<S, Double> setter) {
+        return adicionar(new CampoPatch<E>(nome, dono, valor -> lerNumero(nome, valor), getter, setter));
+    }
+
+    private TabelaCampos<E> adicionar(CampoPatch<E> campo) {
+        campos.put(campo.getNome(), campo);
+        return this;
+    }
+
+    // ========== COMPILAÇÃO ==========
+
+    /**
+     * Lê e valida os campos presentes no corpo
+     * @throws IllegalArgumentException corpo que não é objeto, tipo errado ou valor inválido
+     */
+    public Patch<E> compilar(JsonNode corpo, Validator validator) {
+        if (corpo == null || !corpo.isObject()) {
+            throw new IllegalArgumentException("O corpo da atualização deve ser um objeto JSON");
+        }
+
+        List<Patch.Valor<E>> valores = new ArrayList<>(corpo.size());
+        Iterator<Map.Entry<String, JsonNode>> presentes = corpo.fields();
+        while (presentes.hasNext()) {
+            Map.Entry<String, JsonNode> presente = presentes.next();
+            CampoPatch<E> campo = campos.get(presente.getKey());
+            if (campo == null) {
+                continue;
+            }
+
+            Object valor = campo.ler(presente.getValue());
+            validar(campo, valor, validator);
+            valores.add(new Patch.Valor<>(campo, valor));
+        }
+        return new Patch<>(valores);
+    }
+
+    private void validar(CampoPatch<E> campo, Object valor, Validator validator) {
+        Set<? extends ConstraintViolation<?>> violacoes =
+                validator.validateValue(campo.getDono(), campo.getNome(), valor);
+        if (!violacoes.isEmpty()) {
+            throw new IllegalArgumentException(violacoes.iterator().next().getMessage());
+        }
+    }
+
+    // ========== CONVERSÃO ==========
+
+    private static String lerTexto(String nome, JsonNode valor) {
+        if (!valor.isTextual()) {
+            throw new IllegalArgumentException("Campo '" + nome + "' deve ser texto");
+        }
+        return valor.textValue();
+    }
+
+    private static Double lerNumero(String nome, JsonNode valor) {
+        if (!valor.isNumber()) {
+            throw new IllegalArgumentException("Campo '" + nome + "' deve ser numérico");
+        }
+        return valor.doubleValue();
+    }
+}
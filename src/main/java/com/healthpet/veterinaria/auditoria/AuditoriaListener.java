@@ -0,0 +1,83 @@
+package com.healthpet.veterinaria.auditoria;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+import com.healthpet.veterinaria.alteracoes.Transacoes;
+import com.healthpet.veterinaria.auditoria.RegistroAuditoria.Operacao;
+import com.healthpet.veterinaria.model.Animal;
+import com.healthpet.veterinaria.model.Prontuario;
+import com.healthpet.veterinaria.model.Vacina;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+
+/**
+ * AuditoriaListener - Entrega ao DiarioAuditoria cada alteração de Animal, Vacina e Prontuario
+ * 
+ * Listener JPA registrado nas entidades (@EntityListeners). O estado é capturado
+ * no momento do flush, mas só entra no diário depois do commit (um rollback não
+ * deixa rastro). Nenhum acesso ao banco acontece aqui.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class AuditoriaListener {
+
+    /**
+     * Resolvido só no uso: o listener é criado junto com o EntityManagerFactory
+     */
+    @Autowired
+    private ObjectProvider<DiarioAuditoria> diario;
+
+    @PostPersist
+    public void aposCriar(Object entidade) {
+        registrar(entidade, Operacao.CRIACAO);
+    }
+
+    @PostUpdate
+    public void aposAlterar(Object entidade) {
+        registrar(entidade, Operacao.ALTERACAO);
+    }
+
+    @PostRemove
+    public void aposRemover(Object entidade) {
+        registrar(entidade, Operacao.REMOCAO);
+    }
+
+    private void registrar(Object entidade, Operacao operacao) {
+        LocalDateTime dataAlteracao = LocalDateTime.now();
+        Tabela tabela;
+        Long id;
+        Long animalId = null;
+        if (entidade instanceof Animal animal) {
+            tabela = Tabela.ANIMAIS;
+            id = animal.getId();
+        } else if (entidade instanceof Vacina vacina) {
+            tabela = Tabela.VACINAS;
+            id = vacina.getId();
+            animalId = vacina.getAnimal().getId();
+        } else if (entidade instanceof Prontuario prontuario) {
+            tabela = Tabela.PRONTUARIOS;
+            id = prontuario.getId();
+            animalId = prontuario.getAnimal().getId();
+        } else {
+            return;
+        }
+
+        ObjectNode estado = null;
+        if (operacao != Operacao.REMOCAO) {
+            estado = diario.getObject().capturar(entidade);
+            if (animalId != null) {
+                // O animal não faz parte do JSON (@JsonIgnore); o ID dele sim, para a reconstrução
+                estado.put("animalId", animalId);
+            }
+        }
+
+        ObjectNode capturado = estado;
+        Transacoes.aposCommit(() -> diario.getObject().registrar(tabela, id, operacao, dataAlteracao, capturado));
+    }
+}
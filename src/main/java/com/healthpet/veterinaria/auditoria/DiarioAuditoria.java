@@ -0,0 +1,286 @@
+package com.healthpet.veterinaria.auditoria;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+import com.healthpet.veterinaria.auditoria.RegistroAuditoria.Operacao;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.Attribute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DiarioAuditoria - Diário só de inclusão das alterações de Animal, Vacina e Prontuario
+ * 
+ * O AuditoriaListener entrega, depois do commit, o estado de cada registro alterado
+ * (o JSON da API, só com os atributos persistidos); aqui ele só entra em uma fila em
+ * memória, sem acessar o banco.
+ * A gravação acontece fora da requisição, a cada healthpet.auditoria.intervalo-ms,
+ * em lotes (um INSERT em lote e um commit por lote), na ordem das alterações.
+ * 
+ * Cada entrada guarda o registro completo (na criação e a cada N alterações do
+ * registro) ou só os campos que mudaram; a reconstrução parte da última completa
+ * e aplica as diferenças (ver AuditoriaService).
+ * 
+ * No desligamento normal a fila é gravada; se a JVM morrer, as alterações dos
+ * últimos instantes (ainda na fila) ficam fora do diário.
+ * 
+ * A fila tem limite (healthpet.auditoria.capacidade-fila). Com o banco fora do ar a
+ * gravação é repetida a cada ciclo e a fila cresce; cheia, as alterações novas são
+ * descartadas (contadas em healthpet.auditoria.descartadas, com aviso no log) em vez
+ * de esgotar a memória. O diário continua consistente: a próxima alteração gravada de
+ * cada registro é comparada com o último estado gravado, só os estados intermediários
+ * se perdem. O DiarioAuditoriaHealthIndicator fica DOWN enquanto a fila estiver cheia.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Component
+public class DiarioAuditoria {
+
+    private static final Logger log = LoggerFactory.getLogger(DiarioAuditoria.class);
+
+    /**
+     * Alteração confirmada, ainda não gravada
+     */
+    private record Pendente(Tabela tabela, Long registroId, Operacao operacao,
+                            LocalDateTime dataAlteracao, ObjectNode estado) {
+    }
+
+    /**
+     * Último estado gravado de um registro e quantas diferenças vieram depois da última entrada completa
+     */
+    private record Ultimo(ObjectNode estado, int diferencas) {
+    }
+
+    private BlockingQueue<Pendente> fila;
+
+    /** Total de alterações descartadas com a fila cheia (desde o início) */
+    private final AtomicLong descartadas = new AtomicLong();
+
+    /** Descartadas desde a última gravação bem-sucedida (para avisar no log uma vez só) */
+    private final AtomicLong descartadasSemGravar = new AtomicLong();
+
+    /** Última falha de gravação; null depois de uma gravação bem-sucedida */
+    private volatile String ultimaFalha;
+
+    /**
+     * Lote em gravação: só é esvaziado depois do commit (se falhar, é repetido no próximo ciclo)
+     */
+    private final List<Pendente> lote = new ArrayList<>();
+
+    /**
+     * Evita reler o diário para calcular as diferenças dos registros alterados com frequência
+     */
+    private final Cache<String, Ultimo> ultimos = Caffeine.newBuilder().maximumSize(10_000).build();
+
+    @Autowired
+    private RepositorioAuditoria repositorio;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${healthpet.auditoria.completo-a-cada:20}")
+    private int completoACada;
+
+    @Value("${healthpet.auditoria.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${healthpet.auditoria.capacidade-fila:100000}")
+    private int capacidadeFila;
+
+    @PostConstruct
+    public void iniciar() {
+        fila = new LinkedBlockingQueue<>(capacidadeFila);
+        Gauge.builder("healthpet.auditoria.pendentes", fila, BlockingQueue::size)
+                .description("Alterações confirmadas ainda não gravadas no diário de auditoria")
+                .register(registry);
+        Gauge.builder("healthpet.auditoria.descartadas", descartadas, AtomicLong::get)
+                .description("Alterações que ficaram fora do diário porque a fila estava cheia")
+                .register(registry);
+    }
+
+    // ========== CAPTURA (THREAD DA REQUISIÇÃO) ==========
+
+    /**
+     * Estado atual da entidade em JSON (chamado no listener, antes que ela mude de novo)
+     * 
+     * Só os atributos persistidos (metamodelo JPA): campos calculados da API, como o
+     * status da vacina ou a idade formatada do animal, mudam com a data sem que o
+     * registro mude, e não fazem parte do que foi alterado.
+     */
+    public ObjectNode capturar(Object entidade) {
+        Set<String> persistidos = new HashSet<>();
+        for (Attribute<?, ?> atributo : entityManager.getMetamodel().entity(entidade.getClass()).getAttributes()) {
+            persistidos.add(atributo.getName());
+        }
+        ObjectNode estado = objectMapper.valueToTree(entidade);
+        estado.retain(persistidos);
+        return estado;
+    }
+
+    /**
+     * Enfileira uma alteração confirmada (não bloqueia nem acessa o banco).
+     * Com a fila cheia a alteração é descartada.
+     */
+    public void registrar(Tabela tabela, Long registroId, Operacao operacao,
+                          LocalDateTime dataAlteracao, ObjectNode estado) {
+        if (fila.offer(new Pendente(tabela, registroId, operacao, dataAlteracao, estado))) {
+            return;
+        }
+        descartadas.incrementAndGet();
+        if (descartadasSemGravar.getAndIncrement() == 0) {
+            log.warn("Fila do diário de auditoria cheia ({} pendentes); alterações novas serão descartadas " +
+                    "até a gravação voltar a funcionar", capacidadeFila);
+        }
+    }
+
+    // ========== GRAVAÇÃO (EM SEGUNDO PLANO) ==========
+
+    @Scheduled(fixedDelayString = "${healthpet.auditoria.intervalo-ms:200}")
+    public void gravarAgendado() {
+        try {
+            gravarPendentes();
+        } catch (Exception e) {
+            log.error("Falha ao gravar o diário de auditoria ({} pendentes); nova tentativa no próximo ciclo",
+                    lote.size() + fila.size(), e);
+        }
+    }
+
+    /**
+     * Grava tudo o que está na fila, em lotes de até healthpet.auditoria.tamanho-lote.
+     * Também chamado antes das consultas ao diário e no desligamento.
+     */
+    @PreDestroy
+    public synchronized void gravarPendentes() {
+        while (true) {
+            if (lote.isEmpty()) {
+                fila.drainTo(lote, tamanhoLote);
+            }
+            if (lote.isEmpty()) {
+                return;
+            }
+            try {
+                gravarLote();
+            } catch (RuntimeException e) {
+                ultimaFalha = e.getMessage();
+                throw e;
+            }
+            lote.clear();
+            ultimaFalha = null;
+
+            long perdidas = descartadasSemGravar.getAndSet(0);
+            if (perdidas > 0) {
+                log.warn("Diário de auditoria voltou a gravar; {} alterações foram descartadas com a fila cheia", perdidas);
+            }
+        }
+    }
+
+    // ========== SITUAÇÃO (ver DiarioAuditoriaHealthIndicator) ==========
+
+    public int getPendentes() {
+        return lote.size() + fila.size();
+    }
+
+    public int getCapacidadeFila() {
+        return capacidadeFila;
+    }
+
+    public boolean isFilaCheia() {
+        return fila.remainingCapacity() == 0;
+    }
+
+    public long getDescartadas() {
+        return descartadas.get();
+    }
+
+    public String getUltimaFalha() {
+        return ultimaFalha;
+    }
+
+    private void gravarLote() {
+        // Ordem em que as alterações aconteceram: commits concorrentes podem chegar à fila invertidos
+        lote.sort(Comparator.comparing(Pendente::dataAlteracao));
+
+        Map<String, Ultimo> novos = new HashMap<>();
+        List<RegistroAuditoria> registros = new ArrayList<>(lote.size());
+        for (Pendente pendente : lote) {
+            String chave = pendente.tabela() + ":" + pendente.registroId();
+            Ultimo anterior = novos.containsKey(chave) ? novos.get(chave) : ultimo(pendente.tabela(), pendente.registroId());
+
+            if (pendente.operacao() == Operacao.REMOCAO) {
+                registros.add(registro(pendente, false, null));
+                novos.put(chave, null);
+            } else if (anterior == null || pendente.operacao() == Operacao.CRIACAO
+                    || anterior.diferencas() + 1 >= completoACada) {
+                registros.add(registro(pendente, true, pendente.estado()));
+                novos.put(chave, new Ultimo(pendente.estado(), 0));
+            } else {
+                ObjectNode diferencas = RegistroAuditoria.diferencas(anterior.estado(), pendente.estado());
+                if (!diferencas.isEmpty()) {
+                    registros.add(registro(pendente, false, diferencas));
+                    novos.put(chave, new Ultimo(pendente.estado(), anterior.diferencas() + 1));
+                }
+            }
+        }
+
+        repositorio.gravar(registros);
+
+        // Cache só depois do commit: se a gravação falhar, o lote é recalculado do zero
+        novos.forEach((chave, ultimo) -> {
+            if (ultimo == null) {
+                ultimos.invalidate(chave);
+            } else {
+                ultimos.put(chave, ultimo);
+            }
+        });
+    }
+
+    /**
+     * Último estado gravado do registro (do cache ou reconstruído do diário); null se não houver
+     */
+    private Ultimo ultimo(Tabela tabela, Long registroId) {
+        Ultimo ultimo = ultimos.getIfPresent(tabela + ":" + registroId);
+        if (ultimo != null) {
+            return ultimo;
+        }
+        List<RegistroAuditoria> registros = repositorio.buscarDesdeUltimoCompleto(
+                tabela, registroId, LocalDateTime.now());
+        ObjectNode estado = RegistroAuditoria.reconstruir(registros);
+        return (estado == null) ? null : new Ultimo(estado, registros.size() - 1);
+    }
+
+    private static RegistroAuditoria registro(Pendente pendente, boolean completo, ObjectNode dados) {
+        return new RegistroAuditoria(null, pendente.tabela(), pendente.registroId(), pendente.operacao(),
+                completo, pendente.dataAlteracao(), dados);
+    }
+}
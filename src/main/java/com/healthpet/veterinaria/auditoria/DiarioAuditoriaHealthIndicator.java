@@ -0,0 +1,36 @@
+package com.healthpet.veterinaria.auditoria;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * DiarioAuditoriaHealthIndicator - Situação do diário de auditoria em /actuator/health
+ * 
+ * DOWN enquanto a fila estiver cheia (alterações novas estão sendo descartadas);
+ * UP nos demais casos, com pendentes, capacidade, descartadas e a última falha de
+ * gravação nos detalhes. Não faz parte dos grupos liveness/readiness: o banco fora
+ * do ar não deve fazer a aplicação ser reiniciada e perder a fila.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Component
+public class DiarioAuditoriaHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private DiarioAuditoria diario;
+
+    @Override
+    public Health health() {
+        Health.Builder saude = diario.isFilaCheia() ? Health.down() : Health.up();
+        saude.withDetail("pendentes", diario.getPendentes())
+                .withDetail("capacidadeFila", diario.getCapacidadeFila())
+                .withDetail("descartadas", diario.getDescartadas());
+        if (diario.getUltimaFalha() != null) {
+            saude.withDetail("ultimaFalha", diario.getUltimaFalha());
+        }
+        return saude.build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.healthpet.veterinaria.auditoria;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RegistroAuditoria - Uma entrada do diário de auditoria
+ * 
+ * 'dados' é o registro inteiro (completo = true) ou só os campos que mudaram
+ * desde a entrada anterior do mesmo registro; nulo na remoção.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RegistroAuditoria(
+        Long id,
+        Tabela tabela,
+        Long registroId,
+        Operacao operacao,
+        boolean completo,
+        LocalDateTime dataAlteracao,
+        ObjectNode dados) {
+
+    public enum Operacao {
+        CRIACAO, ALTERACAO, REMOCAO
+    }
+
+    /**
+     * Números iguais em valor são iguais (3 lido do banco x 3L capturado da entidade)
+     */
+    private static final Comparator<JsonNode> MESMO_VALOR = (a, b) ->
+            a.equals(b) || (a.isNumber() && b.isNumber() && a.decimalValue().compareTo(b.decimalValue()) == 0)
+                    ? 0 : 1;
+
+    /**
+     * Aplica as entradas em ordem (a partir de uma completa) e devolve o estado final,
+     * ou null se o registro não existia (sem entradas ou removido)
+     */
+    public static ObjectNode reconstruir(List<RegistroAuditoria> registros) {
+        ObjectNode estado = null;
+        for (RegistroAuditoria registro : registros) {
+            if (registro.operacao() == Operacao.REMOCAO) {
+                estado = null;
+            } else if (registro.completo()) {
+                estado = registro.dados().deepCopy();
+            } else if (estado != null) {
+                estado.setAll(registro.dados());
+            }
+        }
+        return estado;
+    }
+
+    /**
+     * Campos de 'atual' diferentes de 'anterior' (campos que sumiram vão como null)
+     */
+    static ObjectNode diferencas(ObjectNode anterior, ObjectNode atual) {
+        ObjectNode diferencas = atual.objectNode();
+        for (Iterator<Map.Entry<String, JsonNode>> campos = atual.fields(); campos.hasNext(); ) {
+            Map.Entry<String, JsonNode> campo = campos.next();
+            JsonNode valorAnterior = anterior.get(campo.getKey());
+            if (valorAnterior == null || !campo.getValue().equals(MESMO_VALOR, valorAnterior)) {
+                diferencas.set(campo.getKey(), campo.getValue());
+            }
+        }
+        for (Iterator<String> nomes = anterior.fieldNames(); nomes.hasNext(); ) {
+            String nome = nomes.next();
+            if (!atual.has(nome)) {
+                diferencas.putNull(nome);
+            }
+        }
+        return diferencas;
+    }
+}
@@ -0,0 +1,107 @@
+package com.healthpet.veterinaria.auditoria;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+import com.healthpet.veterinaria.auditoria.RegistroAuditoria.Operacao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RepositorioAuditoria - Leitura e gravação da tabela auditoria (JDBC direto)
+ * 
+ * Sem entidade JPA: as entradas só são inseridas (em lote) e lidas em ordem,
+ * e os dados já estão em JSON.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Repository
+public class RepositorioAuditoria {
+
+    private static final String COLUNAS = "id, tabela, registro_id, operacao, completo, data_alteracao, dados";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Insere as entradas em um único lote JDBC e um único commit, na ordem da lista
+     */
+    void gravar(List<RegistroAuditoria> registros) {
+        List<Object[]> valores = new ArrayList<>(registros.size());
+        for (RegistroAuditoria registro : registros) {
+            valores.add(new Object[]{
+                    registro.tabela().name(),
+                    registro.registroId(),
+                    registro.operacao().name(),
+                    registro.completo(),
+                    Timestamp.valueOf(registro.dataAlteracao()),
+                    (registro.dados() != null) ? registro.dados().toString() : null
+            });
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "INSERT INTO auditoria (" + COLUNAS + ") VALUES (NEXT VALUE FOR auditoria_seq, ?, ?, ?, ?, ?, ?)",
+                valores));
+    }
+
+    /**
+     * Entradas do registro até o instante informado, a partir da última completa
+     * (o suficiente para reconstruir o registro naquele instante)
+     */
+    public List<RegistroAuditoria> buscarDesdeUltimoCompleto(Tabela tabela, Long registroId, LocalDateTime ate) {
+        Timestamp limite = Timestamp.valueOf(ate);
+        return jdbcTemplate.query("SELECT " + COLUNAS + " FROM auditoria a " +
+                        "WHERE a.tabela = ? AND a.registro_id = ? AND a.data_alteracao <= ? " +
+                        "AND a.data_alteracao >= COALESCE((SELECT MAX(c.data_alteracao) FROM auditoria c " +
+                        "WHERE c.tabela = ? AND c.registro_id = ? AND c.completo AND c.data_alteracao <= ?), " +
+                        "TIMESTAMP '1970-01-01 00:00:00') " +
+                        "ORDER BY a.data_alteracao, a.id",
+                mapeador(), tabela.name(), registroId, limite, tabela.name(), registroId, limite);
+    }
+
+    /**
+     * Todas as entradas do registro, em ordem
+     */
+    public List<RegistroAuditoria> listar(Tabela tabela, Long registroId) {
+        return jdbcTemplate.query("SELECT " + COLUNAS + " FROM auditoria " +
+                        "WHERE tabela = ? AND registro_id = ? ORDER BY data_alteracao, id",
+                mapeador(), tabela.name(), registroId);
+    }
+
+    private RowMapper<RegistroAuditoria> mapeador() {
+        return (rs, linha) -> new RegistroAuditoria(
+                rs.getLong("id"),
+                Tabela.valueOf(rs.getString("tabela")),
+                rs.getLong("registro_id"),
+                Operacao.valueOf(rs.getString("operacao")),
+                rs.getBoolean("completo"),
+                rs.getTimestamp("data_alteracao").toLocalDateTime(),
+                lerDados(rs.getString("dados")));
+    }
+
+    private ObjectNode lerDados(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return (ObjectNode) objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Entrada de auditoria com JSON inválido", e);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.healthpet.veterinaria.busca;
+
+import com.healthpet.veterinaria.repository.AnimalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * IndiceBuscaAnimais - Índice de trigramas em memória para a busca de animais
+ * 
+ * Indexa nome, nome do dono, raça e telefone. Cada palavra é quebrada em
+ * trigramas no estilo do pg_trgm ("  rex " → "  r", " re", "rex", "ex "),
+ * e cada trigrama aponta para os IDs dos animais que o contêm.
+ * 
+ * Na busca, os candidatos são os animais que compartilham algum trigrama com
+ * o termo, ordenados por relevância:
+ *   igual ao campo > começa com o termo > palavra começa com o termo > contém > parecido (erro de digitação)
+ * 
+ * Termos com menos de 3 caracteres ("ex") só geram trigramas de início de palavra e não
+ * achariam o termo no meio de uma palavra ("Rex"); para eles os valores do campo são
+ * percorridos um a um (contém), como fazia o LIKE do repositório.
+ * 
+ * O índice é montado ao iniciar a aplicação (pelo AquecimentoService) e atualizado pelo IndiceBuscaListener
+ * após o commit de cada inclusão, alteração ou remoção de Animal.
+ * Enquanto não está pronto, os services usam as queries LIKE do repositório.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Component
+public class IndiceBuscaAnimais {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBuscaAnimais.class);
+
+    /**
+     * Campos indexados
+     */
+    public enum Campo {
+        NOME, NOME_DONO, RACA, TELEFONE
+    }
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Fração mínima dos trigramas do termo que o campo precisa ter para
+     * ser considerado parecido (quando não contém o termo literalmente)
+     */
+    @Value("${healthpet.busca.similaridade-minima:0.5}")
+    private double similaridadeMinima;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** ID do animal → valores normalizados de cada campo */
+    private final Map<Long, Map<Campo, String>> documentos = new HashMap<>();
+
+    /** Campo → trigrama → IDs dos animais */
+    private final Map<Campo, Map<String, Set<Long>>> trigramas = new EnumMap<>(Campo.class);
+
+    private volatile boolean pronto = false;
+
+    public IndiceBuscaAnimais() {
+        for (Campo campo : Campo.values()) {
+            trigramas.put(campo, new HashMap<>());
+        }
+    }
+
+    // ========== CARGA INICIAL ==========
+
+    public void carregar() {
+        long inicio = System.currentTimeMillis();
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        leitura.executeWithoutResult(status -> {
+            try (Stream<AnimalRepository.DadosBusca> dados = animalRepository.streamDadosBusca()) {
+                dados.forEach(d -> indexar(d.getId(), d.getNome(), d.getNomeDono(), d.getRaca(), d.getTelefone()));
+            }
+        });
+        pronto = true;
+        log.info("Índice de busca carregado: {} animais em {} ms", tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== ATUALIZAÇÃO ==========
+
+    /**
+     * Inclui ou substitui um animal no índice
+     */
+    public void indexar(Long id, String nome, String nomeDono, String raca, String telefone) {
+        Map<Campo, String> documento = new EnumMap<>(Campo.class);
+        documento.put(Campo.NOME, normalizar(nome));
+        documento.put(Campo.NOME_DONO, normalizar(nomeDono));
+        documento.put(Campo.RACA, normalizar(raca));
+        documento.put(Campo.TELEFONE, somenteDigitos(telefone));
+
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            documentos.put(id, documento);
+            for (Map.Entry<Campo, String> valor : documento.entrySet()) {
+                Map<String, Set<Long>> indiceCampo = trigramas.get(valor.getKey());
+                for (String trigrama : trigramasDoTexto(valor.getValue())) {
+                    indiceCampo.computeIfAbsent(trigrama, t -> new HashSet<>()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um animal do índice
+     */
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removerSemLock(Long id) {
+        Map<Campo, String> anterior = documentos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (Map.Entry<Campo, String> valor : anterior.entrySet()) {
+            Map<String, Set<Long>> indiceCampo = trigramas.get(valor.getKey());
+            for (String trigrama : trigramasDoTexto(valor.getValue())) {
+                Set<Long> ids = indiceCampo.get(trigrama);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        indiceCampo.remove(trigrama);
+                    }
+                }
+            }
+        }
+    }
+
+    // ========== BUSCA ==========
+
+    /**
+     * Busca o termo nos campos informados e retorna os IDs por relevância
+     * 
+     * @param limite quantidade máxima de IDs retornados
+     */
+    public List<Long> buscar(String termo, Collection<Campo> campos, int limite) {
+        String termoTexto = normalizar(termo);
+        String termoDigitos = somenteDigitos(termo);
+        if (termoTexto.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> pontuacao = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Campo campo : campos) {
+                String consulta = campo == Campo.TELEFONE ? termoDigitos : termoTexto;
+                if (consulta.isEmpty()) {
+                    continue;
+                }
+                pontuarCampo(campo, consulta, pontuacao);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Double>> ordenados = new ArrayList<>(pontuacao.entrySet());
+        ordenados.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ordenados.size() && i < limite; i++) {
+            ids.add(ordenados.get(i).getKey());
+        }
+        return ids;
+    }
+
+    /**
+     * Pontua os candidatos de um campo (mantém a maior nota entre os campos)
+     */
+    private void pontuarCampo(Campo campo, String consulta, Map<Long, Double> pontuacao) {
+        if (consulta.length() < 3) {
+            pontuarPorVarredura(campo, consulta, pontuacao);
+            return;
+        }
+
+        Set<String> trigramasConsulta = trigramasDaConsulta(consulta);
+        Map<String, Set<Long>> indiceCampo = trigramas.get(campo);
+
+        // Quantos trigramas do termo cada candidato possui
+        Map<Long, Integer> comuns = new HashMap<>();
+        for (String trigrama : trigramasConsulta) {
+            Set<Long> ids = indiceCampo.get(trigrama);
+            if (ids != null) {
+                for (Long id : ids) {
+                    comuns.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+
+        for (Map.Entry<Long, Integer> candidato : comuns.entrySet()) {
+            String valor = documentos.get(candidato.getKey()).get(campo);
+            double nota = nota(valor, consulta, (double) candidato.getValue() / trigramasConsulta.size());
+            if (nota > 0) {
+                pontuacao.merge(candidato.getKey(), nota, Math::max);
+            }
+        }
+    }
+
+    /**
+     * Termo curto: percorre todos os valores do campo procurando o termo em qualquer posição
+     */
+    private void pontuarPorVarredura(Campo campo, String consulta, Map<Long, Double> pontuacao) {
+        for (Map.Entry<Long, Map<Campo, String>> documento : documentos.entrySet()) {
+            String valor = documento.getValue().get(campo);
+            if (valor.contains(consulta)) {
+                pontuacao.merge(documento.getKey(), nota(valor, consulta, 0), Math::max);
+            }
+        }
+    }
+
+    private double nota(String valor, String consulta, double similaridade) {
+        if (valor.equals(consulta)) {
+            return 5.0;
+        }
+        if (valor.startsWith(consulta)) {
+            return 4.0;
+        }
+        if (valor.contains(" " + consulta)) {
+            return 3.0;
+        }
+        if (valor.contains(consulta)) {
+            return 2.0;
+        }
+        return similaridade >= similaridadeMinima ? similaridade : 0;
+    }
+
+    // ========== TRIGRAMAS E NORMALIZAÇÃO ==========
+
+    /**
+     * Trigramas de um valor indexado: cada palavra com dois espaços antes e um depois
+     */
+    private static Set<String> trigramasDoTexto(String texto) {
+        Set<String> resultado = new HashSet<>();
+        for (String palavra : texto.split(" ")) {
+            if (!palavra.isEmpty()) {
+                adicionarTrigramas("  " + palavra + " ", resultado);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Trigramas do termo buscado. A última palavra não recebe o espaço final,
+     * assim "re" encontra "Rex" enquanto o usuário ainda está digitando.
+     */
+    private static Set<String> trigramasDaConsulta(String consulta) {
+        Set<String> resultado = new LinkedHashSet<>();
+        String[] palavras = consulta.split(" ");
+        for (int i = 0; i < palavras.length; i++) {
+            if (!palavras[i].isEmpty()) {
+                adicionarTrigramas("  " + palavras[i] + (i == palavras.length - 1 ? "" : " "), resultado);
+            }
+        }
+        return resultado;
+    }
+
+    private static void adicionarTrigramas(String palavra, Set<String> destino) {
+        for (int i = 0; i + 3 <= palavra.length(); i++) {
+            destino.add(palavra.substring(i, i + 3));
+        }
+    }
+
+    /**
+     * Minúsculas, sem acentos e com um único espaço entre as palavras
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcento = Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return semAcento.toLowerCase().replaceAll("[^a-z0-9]+", " ").trim();
+    }
+
+    static String somenteDigitos(String texto) {
+        return texto == null ? "" : texto.replaceAll("\\D", "");
+    }
+}
@@ -0,0 +1,46 @@
+package com.healthpet.veterinaria.busca;
+
+import com.healthpet.veterinaria.alteracoes.Transacoes;
+import com.healthpet.veterinaria.model.Animal;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * IndiceBuscaListener - Mantém o IndiceBuscaAnimais sincronizado com o banco
+ * 
+ * Listener JPA registrado em Animal (@EntityListeners). Os valores são copiados
+ * no momento do evento, mas o índice só é alterado depois do commit,
+ * para que um rollback não deixe o índice diferente do banco.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class IndiceBuscaListener {
+
+    /**
+     * Resolvido só no uso: o listener é criado junto com o EntityManagerFactory,
+     * antes do índice (que depende do AnimalRepository) existir
+     */
+    @Autowired
+    private ObjectProvider<IndiceBuscaAnimais> indice;
+
+    @PostPersist
+    @PostUpdate
+    public void aposGravar(Animal animal) {
+        Long id = animal.getId();
+        String nome = animal.getNome();
+        String nomeDono = animal.getNomeDono();
+        String raca = animal.getRaca();
+        String telefone = animal.getTelefone();
+        Transacoes.aposCommit(() -> indice.getObject().indexar(id, nome, nomeDono, raca, telefone));
+    }
+
+    @PostRemove
+    public void aposRemover(Animal animal) {
+        Long id = animal.getId();
+        Transacoes.aposCommit(() -> indice.getObject().remover(id));
+    }
+}
@@ -0,0 +1,100 @@
+package com.healthpet.veterinaria.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * CacheConfig - Cache de leitura para consultas repetidas durante a consulta
+ * 
+ * Caches (todos com limite de tamanho e expiração após a gravação):
+ * - animais          → AnimalService.buscarPorId (chave: ID do animal)
+ * - prontuarios      → ProntuarioService.buscarPorAnimalId (chave: ID do animal)
+ * - vacinasPorAnimal → VacinaService.listarVacinasPorAnimal (chave: ID do animal)
+ * 
+ * As remoções feitas pelos métodos de escrita só acontecem depois do commit, então
+ * uma leitura concorrente não recoloca no cache um valor que ainda vai ser alterado.
+ * Já a gravação no cache (@Cacheable) é imediata: adiada para o commit da leitura,
+ * ela poderia cair depois da remoção de uma escrita concorrente e recolocar o valor antigo.
+ * 
+ * Ainda sobra uma janela curta: se a escrita confirmar e remover a entrada entre a
+ * consulta ao banco e a gravação no cache da leitura, o valor antigo fica no cache
+ * até expirar (healthpet.cache.expiracao).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ANIMAIS = "animais";
+    public static final String PRONTUARIOS = "prontuarios";
+    public static final String VACINAS_POR_ANIMAL = "vacinasPorAnimal";
+
+    @Value("${healthpet.cache.tamanho-maximo:10000}")
+    private long tamanhoMaximo;
+
+    @Value("${healthpet.cache.expiracao:10m}")
+    private Duration expiracao;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats());
+        caffeine.setCacheNames(List.of(ANIMAIS, PRONTUARIOS, VACINAS_POR_ANIMAL));
+        return new RemocaoAposCommitCacheManager(caffeine);
+    }
+
+    /**
+     * Envolve cada cache em um RemocaoAposCommit
+     */
+    private static class RemocaoAposCommitCacheManager implements CacheManager {
+
+        private final CacheManager alvo;
+
+        RemocaoAposCommitCacheManager(CacheManager alvo) {
+            this.alvo = alvo;
+        }
+
+        @Override
+        public Cache getCache(String nome) {
+            Cache cache = alvo.getCache(nome);
+            return cache != null ? new RemocaoAposCommit(cache) : null;
+        }
+
+        @Override
+        public Collection<String> getCacheNames() {
+            return alvo.getCacheNames();
+        }
+    }
+
+    /**
+     * Adia evict/clear para depois do commit (como o TransactionAwareCacheDecorator),
+     * mas grava no cache na hora
+     */
+    private static class RemocaoAposCommit extends TransactionAwareCacheDecorator {
+
+        RemocaoAposCommit(Cache alvo) {
+            super(alvo);
+        }
+
+        @Override
+        public void put(Object chave, Object valor) {
+            getTargetCache().put(chave, valor);
+        }
+    }
+}
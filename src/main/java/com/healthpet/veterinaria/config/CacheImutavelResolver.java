@@ -0,0 +1,162 @@
+package com.healthpet.veterinaria.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.ResourceTransformer;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * CacheImutavelResolver - Cache-Control immutable só para a URL com o hash do conteúdo
+ * (css/style-3f2a...c1.css), ver RecursosEstaticosConfig
+ *
+ * O handler de css/ e js/ responde no-cache. Quando o arquivo encontrado tem outro nome
+ * que o pedido (o VersionResourceResolver tirou o hash), o recurso devolvido leva o
+ * Cache-Control longo nos seus cabeçalhos, que substituem os do handler. A URL sem hash
+ * (js/app.js) continua sendo revalidada: o conteúdo dela muda a cada deploy.
+ *
+ * Fica antes do EncodedResourceResolver, então também marca os .br/.gz. O ManterCacheControl
+ * entrega aos transformadores o recurso sem a marca (o CssLinkResourceTransformer não
+ * mexe em compactados) e marca de novo o resultado.
+ *
+ * @author Felipe Brito
+ * @version 1.0
+ */
+class CacheImutavelResolver extends AbstractResourceResolver {
+
+    private final CacheControl cacheVersionados;
+
+    CacheImutavelResolver(CacheControl cacheVersionados) {
+        this.cacheVersionados = cacheVersionados;
+    }
+
+    @Override
+    protected Resource resolveResourceInternal(@Nullable HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource recurso = chain.resolveResource(request, requestPath, locations);
+        if (recurso == null || StringUtils.getFilename(requestPath).equals(recurso.getFilename())) {
+            return recurso;
+        }
+
+        HttpHeaders cabecalhos = new HttpHeaders();
+        if (recurso instanceof HttpResource http) {
+            cabecalhos.putAll(http.getResponseHeaders());
+        }
+        cabecalhos.setCacheControl(cacheVersionados);
+        return new RecursoImutavel(recurso, cabecalhos);
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    /**
+     * Transforma o recurso sem a marca e marca de novo o resultado
+     */
+    static class ManterCacheControl implements ResourceTransformer {
+
+        @Override
+        public Resource transform(HttpServletRequest request, Resource resource,
+                                  ResourceTransformerChain transformerChain) throws IOException {
+            if (resource instanceof RecursoImutavel imutavel) {
+                Resource transformado = transformerChain.transform(request, imutavel.original);
+                return new RecursoImutavel(transformado, imutavel.cabecalhos);
+            }
+            return transformerChain.transform(request, resource);
+        }
+    }
+
+    /**
+     * O recurso encontrado pela URL com hash, com o Cache-Control longo nos cabeçalhos
+     */
+    private static class RecursoImutavel extends AbstractResource implements HttpResource {
+
+        private final Resource original;
+
+        private final HttpHeaders cabecalhos;
+
+        RecursoImutavel(Resource original, HttpHeaders cabecalhos) {
+            this.original = original;
+            this.cabecalhos = cabecalhos;
+        }
+
+        @Override
+        public boolean exists() {
+            return original.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return original.isReadable();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return original.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return original.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return original.getFile();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return original.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return original.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            return original.createRelative(relativePath);
+        }
+
+        @Override
+        public String getFilename() {
+            return original.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            // Diferente da URL sem hash: a resourceChain(true) guarda as transformações por recurso
+            return "URL com hash [" + original.getDescription() + "]";
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return original.getInputStream();
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders copia = new HttpHeaders();
+            copia.putAll(cabecalhos);
+            return copia;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.healthpet.veterinaria.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * ConcorrenciaConfig - Modo de threads virtuais (opcional)
+ * 
+ * Ligado com spring.threads.virtual.enabled=true. Rodando em Java 21+, o Spring Boot passa
+ * a atender cada requisição (e as chamadas @Transactional dos services, que rodam na
+ * mesma thread) em uma thread virtual; em Java 17 a propriedade é ignorada pelo Spring.
+ * 
+ * Neste modo registra o GuardaConexoesFilter em /api/*, para que o número de
+ * requisições simultâneas não passe do tamanho do pool de conexões.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ConcorrenciaConfig {
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int tamanhoPool;
+
+    @Value("${healthpet.concorrencia.espera-maxima:2s}")
+    private Duration esperaMaxima;
+
+    @Bean
+    public FilterRegistrationBean<GuardaConexoesFilter> guardaConexoesFilter() {
+        FilterRegistrationBean<GuardaConexoesFilter> registro =
+                new FilterRegistrationBean<>(new GuardaConexoesFilter(tamanhoPool, esperaMaxima));
+        registro.addUrlPatterns("/api/*");
+        return registro;
+    }
+}
@@ -0,0 +1,121 @@
+package com.healthpet.veterinaria.config;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * GuardaConexoesFilter - Limita as requisições da API que usam o banco ao mesmo tempo
+ * 
+ * Com threads virtuais o Tomcat deixa de limitar a concorrência (não há mais o pool
+ * fixo de 200 threads), e todas as requisições disputariam as poucas conexões do
+ * Hikari, esperando até o connectionTimeout (30s) para então falhar.
+ * 
+ * O filtro deixa entrar no máximo 'limite' requisições por vez (o tamanho do pool de
+ * conexões: com open-in-view cada requisição segura uma conexão até terminar).
+ * As demais esperam até 'esperaMaxima'; passado esse tempo recebem 503 com
+ * Retry-After, em vez de ocupar memória e estourar o timeout do pool.
+ * 
+ * Respostas assíncronas (a exportação NDJSON com StreamingResponseBody) continuam
+ * usando a conexão depois que a cadeia de filtros retorna: nelas a vaga só é
+ * devolvida quando o processamento assíncrono termina (AsyncListener).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class GuardaConexoesFilter extends OncePerRequestFilter {
+
+    private final Semaphore vagas;
+    private final Duration esperaMaxima;
+
+    public GuardaConexoesFilter(int limite, Duration esperaMaxima) {
+        this.vagas = new Semaphore(limite, true);
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        boolean entrou;
+        try {
+            entrou = vagas.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entrou = false;
+        }
+
+        if (!entrou) {
+            recusar(response);
+            return;
+        }
+        boolean assincrona = false;
+        try {
+            chain.doFilter(request, response);
+            assincrona = request.isAsyncStarted();
+        } finally {
+            if (assincrona) {
+                liberarAoTerminar(request.getAsyncContext());
+            } else {
+                vagas.release();
+            }
+        }
+    }
+
+    /**
+     * Devolve a vaga uma única vez quando a requisição assíncrona termina
+     * (onComplete também é chamado depois de erro ou timeout)
+     */
+    private void liberarAoTerminar(AsyncContext contexto) {
+        AtomicBoolean liberada = new AtomicBoolean();
+        contexto.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent evento) {
+                liberar();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent evento) {
+                liberar();
+            }
+
+            @Override
+            public void onError(AsyncEvent evento) {
+                liberar();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent evento) {
+                // Novo ciclo assíncrono no mesmo request: continua sendo acompanhado
+                evento.getAsyncContext().addListener(this);
+            }
+
+            private void liberar() {
+                if (liberada.compareAndSet(false, true)) {
+                    vagas.release();
+                }
+            }
+        });
+    }
+
+    private void recusar(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"erro\":\"Servidor ocupado, tente novamente\",\"sucesso\":\"false\"}");
+    }
+}
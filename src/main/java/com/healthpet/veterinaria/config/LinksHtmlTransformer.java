@@ -0,0 +1,48 @@
+package com.healthpet.veterinaria.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+import org.springframework.web.servlet.resource.ResourceTransformerSupport;
+import org.springframework.web.servlet.resource.TransformedResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * LinksHtmlTransformer - Troca, nas páginas HTML, href="css/style.css" e src="js/app.js"
+ * pelas URLs com hash do conteúdo (ver RecursosEstaticosConfig)
+ * 
+ * Links externos (CDN do Bootstrap) ficam como estão. O HTML transformado é
+ * guardado em memória pela resourceChain(true); o custo é só na primeira requisição.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+class LinksHtmlTransformer extends ResourceTransformerSupport {
+
+    private static final Pattern LINK = Pattern.compile("(href|src)=\"([^\":]+\\.(?:css|js))\"");
+
+    @Override
+    public Resource transform(HttpServletRequest request, Resource resource,
+                              ResourceTransformerChain transformerChain) throws IOException {
+        resource = transformerChain.transform(request, resource);
+        String nome = resource.getFilename();
+        if (nome == null || !nome.endsWith(".html")) {
+            return resource;
+        }
+
+        String html = resource.getContentAsString(StandardCharsets.UTF_8);
+        Matcher link = LINK.matcher(html);
+        StringBuilder resultado = new StringBuilder(html.length());
+        while (link.find()) {
+            String versionado = resolveUrlPath(link.group(2), request, resource, transformerChain);
+            String url = versionado != null ? versionado : link.group(2);
+            link.appendReplacement(resultado, Matcher.quoteReplacement(link.group(1) + "=\"" + url + "\""));
+        }
+        link.appendTail(resultado);
+        return new TransformedResource(resource, resultado.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
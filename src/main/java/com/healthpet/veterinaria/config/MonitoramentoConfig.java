@@ -0,0 +1,63 @@
+package com.healthpet.veterinaria.config;
+
+import com.healthpet.veterinaria.monitoramento.AmostragemSql;
+import com.healthpet.veterinaria.monitoramento.ContadorSql;
+import com.healthpet.veterinaria.monitoramento.MonitoramentoSqlInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * MonitoramentoConfig - Instrumentação das requisições da API
+ * 
+ * - Liga o ContadorSql ao Hibernate (StatementInspector), com a AmostragemSql
+ * - Registra o MonitoramentoSqlInterceptor em /api/**
+ * 
+ * As métricas (latência por endpoint, comandos SQL por requisição, N+1) ficam em
+ * /actuator/prometheus; a configuração do Actuator está no application.properties.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Configuration
+public class MonitoramentoConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${healthpet.sql.amostragem:0}")
+    private double taxaAmostragem;
+
+    @Value("${healthpet.monitoramento.max-comandos-sql:20}")
+    private int maxComandos;
+
+    @Value("${healthpet.monitoramento.repeticoes-n-mais-um:5}")
+    private int repeticoesNMaisUm;
+
+    @Bean
+    public AmostragemSql amostragemSql() {
+        return new AmostragemSql(taxaAmostragem);
+    }
+
+    @Bean
+    public ContadorSql contadorSql() {
+        return new ContadorSql(amostragemSql());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorSqlHibernate() {
+        return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, contadorSql());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registro) {
+        registro.addInterceptor(new MonitoramentoSqlInterceptor(contadorSql(), registry, maxComandos, repeticoesNMaisUm))
+                .addPathPatterns("/api/**");
+    }
+}
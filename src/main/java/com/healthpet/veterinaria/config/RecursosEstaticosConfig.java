@@ -0,0 +1,132 @@
+package com.healthpet.veterinaria.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceChainRegistration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * RecursosEstaticosConfig - Como o frontend (static/) é servido
+ * 
+ * - CSS e JS: URL com o hash do conteúdo (css/style-3f2a...c1.css). O arquivo muda → a URL
+ *   muda, então o navegador pode guardá-lo sem revalidar (Cache-Control immutable).
+ *   O immutable vale só para a URL com hash (CacheImutavelResolver); a URL sem hash
+ *   (js/app.js) é sempre revalidada (no-cache), porque o conteúdo dela muda no deploy.
+ *   Se existirem style.css.br / style.css.gz (gerados no build com -Pestaticos),
+ *   são enviados prontos, conforme o Accept-Encoding do navegador. Um build sem o
+ *   perfil não apaga os .br/.gz antigos de target/classes: na inicialização cada .gz
+ *   é descompactado e comparado com o arquivo atual, e se algum estiver desatualizado
+ *   nenhum compactado é usado (senão a URL com o hash novo serviria o conteúdo antigo).
+ * - HTML: as referências a css/ e js/ são reescritas para as URLs com hash
+ *   (LinksHtmlTransformer); o próprio HTML é sempre revalidado (no-cache),
+ *   para a página nova apontar para os arquivos novos logo após um deploy.
+ * 
+ * A compressão das demais respostas (HTML, JSON da API) e o HTTP/2 ficam no
+ * application.properties (server.compression, server.http2).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Configuration
+public class RecursosEstaticosConfig implements WebMvcConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(RecursosEstaticosConfig.class);
+
+    private static final String[] PASTAS_VERSIONADAS = {"css", "js"};
+
+    @Value("${healthpet.estaticos.cache-versionados:365d}")
+    private Duration cacheVersionados;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registro) {
+        VersionResourceResolver hashConteudo = new VersionResourceResolver().addContentVersionStrategy("/**");
+        CacheImutavelResolver cacheImutavel = new CacheImutavelResolver(
+                CacheControl.maxAge(cacheVersionados).cachePublic().immutable());
+        boolean usarCompactados = compactadosAtualizados();
+
+        for (String pasta : PASTAS_VERSIONADAS) {
+            ResourceChainRegistration cadeia = registro.addResourceHandler("/" + pasta + "/**")
+                    .addResourceLocations("classpath:/static/" + pasta + "/")
+                    .setCacheControl(CacheControl.noCache())
+                    .resourceChain(true)
+                    .addResolver(cacheImutavel);
+            if (usarCompactados) {
+                cadeia.addResolver(new EncodedResourceResolver());
+            }
+            // O CssLinkResourceTransformer é declarado aqui para ficar depois do ManterCacheControl
+            cadeia.addResolver(hashConteudo)
+                    .addTransformer(new CacheImutavelResolver.ManterCacheControl())
+                    .addTransformer(new CssLinkResourceTransformer());
+        }
+
+        // O resolvedor de versão aqui é o que calcula a URL com hash dos links relativos do HTML
+        registro.addResourceHandler("/*.html")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(hashConteudo)
+                .addTransformer(new LinksHtmlTransformer());
+    }
+
+    /**
+     * Confere se cada .gz é o arquivo atual compactado e se todo .br tem o .gz gerado junto
+     * (o script grava os dois a partir do mesmo conteúdo; o Java não lê Brotli)
+     */
+    private boolean compactadosAtualizados() {
+        PathMatchingResourcePatternResolver recursos = new PathMatchingResourcePatternResolver();
+        List<String> desatualizados = new ArrayList<>();
+        try {
+            for (String pasta : PASTAS_VERSIONADAS) {
+                for (Resource gz : recursos.getResources("classpath:/static/" + pasta + "/**/*.gz")) {
+                    Resource original = gz.createRelative(semExtensao(gz.getFilename()));
+                    if (!original.exists() || !Arrays.equals(descompactar(gz), original.getContentAsByteArray())) {
+                        desatualizados.add(gz.getFilename());
+                    }
+                }
+                for (Resource br : recursos.getResources("classpath:/static/" + pasta + "/**/*.br")) {
+                    Resource gz = br.createRelative(semExtensao(br.getFilename()) + ".gz");
+                    if (!gz.exists() || desatualizados.contains(gz.getFilename())) {
+                        desatualizados.add(br.getFilename());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Não foi possível conferir os arquivos .br/.gz; servindo sem eles", e);
+            return false;
+        }
+
+        if (!desatualizados.isEmpty()) {
+            log.warn("Arquivos compactados desatualizados {}; servindo sem .br/.gz " +
+                    "(gere de novo com mvn -Pestaticos package ou apague com mvn clean)", desatualizados);
+            return false;
+        }
+        return true;
+    }
+
+    private static byte[] descompactar(Resource gz) throws IOException {
+        try (InputStream entrada = new GZIPInputStream(gz.getInputStream())) {
+            return entrada.readAllBytes();
+        }
+    }
+
+    private static String semExtensao(String nome) {
+        return nome.substring(0, nome.lastIndexOf('.'));
+    }
+}
@@ -0,0 +1,107 @@
+package com.healthpet.veterinaria.controller;
+
+import com.healthpet.veterinaria.monitoramento.AmostragemSql;
+import com.healthpet.veterinaria.service.BackupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AdminController - Controlador REST API
+ * 
+ * Ajustes de diagnóstico com a aplicação rodando, sem reiniciar.
+ * 
+ * Endpoints:
+ * - GET /api/admin/sql → Taxa atual de amostragem do log de SQL
+ * - PUT /api/admin/sql → Altera a taxa. Body: {"taxa": 0.05} (0 desliga, 1 registra todos)
+ * - POST /api/admin/backup → Gera um backup do banco (só no perfil persistente)
+ * 
+ * Os comandos amostrados vão para o log healthpet.sql. Para o log completo do
+ * Hibernate (com parâmetros), use o perfil dev.
+ * 
+ * Alteram o estado do servidor (e o backup grava arquivos), então só existem com
+ * healthpet.admin.habilitado=true (desligado no perfil prod) e não aceitam CORS.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/admin")
+@ConditionalOnProperty(name = "healthpet.admin.habilitado", havingValue = "true", matchIfMissing = true)
+public class AdminController {
+
+    @Autowired
+    private AmostragemSql amostragemSql;
+
+    @Autowired
+    private BackupService backupService;
+
+    /**
+     * GET /api/admin/sql
+     */
+    @GetMapping("/sql")
+    public ResponseEntity<Map<String, Object>> obterAmostragemSql() {
+        return ResponseEntity.ok(respostaAmostragem());
+    }
+
+    /**
+     * PUT /api/admin/sql
+     */
+    @PutMapping("/sql")
+    public ResponseEntity<?> alterarAmostragemSql(@RequestBody Map<String, Object> dados) {
+        try {
+            if (!(dados.get("taxa") instanceof Number taxa)) {
+                return ResponseEntity.badRequest().body(criarMensagemErro("Informe a taxa (número entre 0 e 1)"));
+            }
+            amostragemSql.setTaxa(taxa.doubleValue());
+            return ResponseEntity.ok(respostaAmostragem());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(criarMensagemErro(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(criarMensagemErro("Erro ao alterar amostragem: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/admin/backup
+     */
+    @PostMapping("/backup")
+    public ResponseEntity<?> realizarBackup() {
+        try {
+            File arquivo = backupService.realizarBackup();
+            Map<String, Object> resposta = new HashMap<>();
+            // Só o nome: o caminho no servidor não é exposto
+            resposta.put("arquivo", arquivo.getName());
+            resposta.put("tamanhoBytes", arquivo.length());
+            return ResponseEntity.ok(resposta);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(criarMensagemErro(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(criarMensagemErro("Erro ao gerar backup: " + e.getMessage()));
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private Map<String, Object> respostaAmostragem() {
+        Map<String, Object> resposta = new HashMap<>();
+        resposta.put("taxa", amostragemSql.getTaxa());
+        resposta.put("log", "healthpet.sql");
+        return resposta;
+    }
+
+    private Map<String, String> criarMensagemErro(String mensagem) {
+        Map<String, String> response = new HashMap<>();
+        response.put("erro", mensagem);
+        response.put("sucesso", "false");
+        return response;
+    }
+}
@@ -1,19 +1,30 @@
 package com.healthpet.veterinaria.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+import com.healthpet.veterinaria.dto.AnimalResumoDTO;
+import com.healthpet.veterinaria.dto.FichaAnimalDTO;
+import com.healthpet.veterinaria.dto.Pagina;
 import com.healthpet.veterinaria.model.Animal;
 import com.healthpet.veterinaria.model.Cachorro;
 import com.healthpet.veterinaria.model.Gato;
+import com.healthpet.veterinaria.selecao.CamposSelecao;
+import com.healthpet.veterinaria.selecao.Selecao;
 import com.healthpet.veterinaria.service.AnimalService;
-import jakarta.validation.Valid;
+import com.healthpet.veterinaria.service.ConflitoVersaoException;
+import com.healthpet.veterinaria.service.NomeDuplicadoException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * AnimalController - Controlador REST API
@@ -21,6 +32,15 @@ import java.util.Optional;
  * Define os endpoints da API REST para gerenciar animais.
  * ATUALIZADO: Suporte completo para edição de Cachorro e Gato
  * 
+ * Paginação: os endpoints de listagem aceitam ?limite=N&cursor=X.
+ * Sem esses parâmetros a resposta continua sendo a lista completa.
+ * 
+ * Listagens e buscas devolvem o resumo do animal (AnimalResumoDTO, só os campos
+ * dos cards); o animal completo vem de GET /api/animais/{id}.
+ * 
+ * Campos sob medida: GET /api/animais e /api/animais/{id} aceitam
+ * ?fields=nome,idade,vacinas.nome&include=vacinas,prontuario (ver CamposSelecao).
+ * 
  * @author Felipe Brito
  * @version 2.0
  */
@@ -32,21 +52,64 @@ public class AnimalController {
     @Autowired
     private AnimalService animalService;
 
+    @Autowired
+    private ContadorAlteracoes contadorAlteracoes;
+
     // ========== ENDPOINTS GET (READ) ==========
 
+    /**
+     * GET /api/animais
+     * ETag = contador de alterações da tabela: sem alterações desde a última
+     * consulta, 304 sem acessar o banco
+     * 
+     * ?fields=nome,idade&include=vacinas,prontuario → só os campos pedidos (ver CamposSelecao)
+     */
     @GetMapping
-    public ResponseEntity<List<Animal>> listarTodos() {
-        List<Animal> animais = animalService.listarTodos();
-        return ResponseEntity.ok(animais);
+    public ResponseEntity<?> listarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            WebRequest request) {
+        if (isSelecao(fields, include)) {
+            return listarSelecao(fields, include, cursor, limite, request);
+        }
+        String etag = contadorAlteracoes.etag(Tabela.ANIMAIS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        if (isPaginado(cursor, limite)) {
+            return responderPagina(() -> animalService.listarTodos(cursor, limite), etag);
+        }
+        List<AnimalResumoDTO> animais = animalService.listarTodos();
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(Versoes.REVALIDAR)
+            .body(animais);
     }
 
+    /**
+     * GET /api/animais/{id}
+     * ETag = versão do animal; If-None-Match igual → 304 (o animal vem do cache)
+     * Com ?fields= / ?include=, só os campos pedidos (ETag = contadores das tabelas lidas)
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<?> buscarPorId(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            WebRequest request) {
+        if (isSelecao(fields, include)) {
+            return buscarSelecao(id, fields, include, request);
+        }
         try {
             Optional<Animal> animal = animalService.buscarPorId(id);
             
             if (animal.isPresent()) {
-                return ResponseEntity.ok(animal.get());
+                return ResponseEntity.ok()
+                        .eTag(Versoes.etag(animal.get().getVersao()))
+                        .cacheControl(Versoes.REVALIDAR)
+                        .body(animal.get());
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(criarMensagemErro("Animal não encontrado com ID: " + id));
@@ -57,52 +120,111 @@ public class AnimalController {
         }
     }
 
+    /**
+     * GET /api/animais/{id}/ficha
+     * Animal, prontuário e vacinas em uma única resposta (e uma única query)
+     */
+    @GetMapping("/{id}/ficha")
+    public ResponseEntity<?> buscarFicha(@PathVariable Long id) {
+        try {
+            Optional<FichaAnimalDTO> ficha = animalService.buscarFicha(id);
+            
+            if (ficha.isPresent()) {
+                return ResponseEntity.ok(ficha.get());
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(criarMensagemErro("Animal não encontrado com ID: " + id));
+            }
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(criarMensagemErro("Erro ao buscar ficha: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/buscar")
-    public ResponseEntity<List<Animal>> buscarPorNome(@RequestParam String nome) {
-        List<Animal> animais = animalService.buscarPorNome(nome);
+    public ResponseEntity<?> buscarPorNome(
+            @RequestParam String nome,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        if (isPaginado(cursor, limite)) {
+            return responderPagina(() -> animalService.buscarPorNome(nome, cursor, limite));
+        }
+        List<AnimalResumoDTO> animais = animalService.buscarPorNome(nome);
+        return ResponseEntity.ok(animais);
+    }
+
+    /**
+     * GET /api/animais/pesquisa?termo=
+     * Busca em nome, dono, raça e telefone, ordenada por relevância
+     */
+    @GetMapping("/pesquisa")
+    public ResponseEntity<List<AnimalResumoDTO>> pesquisar(@RequestParam String termo) {
+        List<AnimalResumoDTO> animais = animalService.pesquisar(termo);
         return ResponseEntity.ok(animais);
     }
 
     @GetMapping("/especie/{especie}")
-    public ResponseEntity<List<Animal>> buscarPorEspecie(@PathVariable String especie) {
-        List<Animal> animais = animalService.buscarPorEspecie(especie);
+    public ResponseEntity<?> buscarPorEspecie(
+            @PathVariable String especie,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        if (isPaginado(cursor, limite)) {
+            return responderPagina(() -> animalService.buscarPorEspecie(especie, cursor, limite));
+        }
+        List<AnimalResumoDTO> animais = animalService.buscarPorEspecie(especie);
         return ResponseEntity.ok(animais);
     }
 
     @GetMapping("/dono")
-    public ResponseEntity<List<Animal>> buscarPorDono(@RequestParam String nome) {
-        List<Animal> animais = animalService.buscarPorDono(nome);
+    public ResponseEntity<?> buscarPorDono(
+            @RequestParam String nome,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        if (isPaginado(cursor, limite)) {
+            return responderPagina(() -> animalService.buscarPorDono(nome, cursor, limite));
+        }
+        List<AnimalResumoDTO> animais = animalService.buscarPorDono(nome);
         return ResponseEntity.ok(animais);
     }
 
     @GetMapping("/cachorros")
-    public ResponseEntity<List<Animal>> listarCachorros() {
-        List<Animal> cachorros = animalService.listarCachorros();
+    public ResponseEntity<?> listarCachorros(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        if (isPaginado(cursor, limite)) {
+            return responderPagina(() -> animalService.listarCachorros(cursor, limite));
+        }
+        List<AnimalResumoDTO> cachorros = animalService.listarCachorros();
         return ResponseEntity.ok(cachorros);
     }
 
     @GetMapping("/gatos")
-    public ResponseEntity<List<Animal>> listarGatos() {
-        List<Animal> gatos = animalService.listarGatos();
+    public ResponseEntity<?> listarGatos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        if (isPaginado(cursor, limite)) {
+            return responderPagina(() -> animalService.listarGatos(cursor, limite));
+        }
+        List<AnimalResumoDTO> gatos = animalService.listarGatos();
         return ResponseEntity.ok(gatos);
     }
 
     @GetMapping("/estatisticas")
     public ResponseEntity<Map<String, Object>> obterEstatisticas() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("total", animalService.contarTotal());
-        stats.put("cachorros", animalService.listarCachorros().size());
-        stats.put("gatos", animalService.listarGatos().size());
+        Map<String, Object> stats = animalService.obterEstatisticas();
         return ResponseEntity.ok(stats);
     }
 
     // ========== ENDPOINTS POST (CREATE) ==========
 
     @PostMapping
-    public ResponseEntity<?> cadastrarAnimal(@Valid @RequestBody Animal animal) {
+    public ResponseEntity<?> cadastrarAnimal(@RequestBody JsonNode dados) {
         try {
-            Animal animalSalvo = animalService.cadastrarAnimal(animal);
+            Animal animalSalvo = animalService.cadastrarAnimal(dados);
             return ResponseEntity.status(HttpStatus.CREATED).body(animalSalvo);
+        } catch (NomeDuplicadoException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(criarMensagemErro(e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(criarMensagemErro(e.getMessage()));
@@ -113,10 +235,13 @@ public class AnimalController {
     }
 
     @PostMapping("/cachorro")
-    public ResponseEntity<?> cadastrarCachorro(@Valid @RequestBody Cachorro cachorro) {
+    public ResponseEntity<?> cadastrarCachorro(@RequestBody JsonNode dados) {
         try {
-            Cachorro cachorroSalvo = animalService.cadastrarCachorro(cachorro);
+            Cachorro cachorroSalvo = animalService.cadastrarCachorro(dados);
             return ResponseEntity.status(HttpStatus.CREATED).body(cachorroSalvo);
+        } catch (NomeDuplicadoException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(criarMensagemErro(e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(criarMensagemErro(e.getMessage()));
@@ -127,10 +252,13 @@ public class AnimalController {
     }
 
     @PostMapping("/gato")
-    public ResponseEntity<?> cadastrarGato(@Valid @RequestBody Gato gato) {
+    public ResponseEntity<?> cadastrarGato(@RequestBody JsonNode dados) {
         try {
-            Gato gatoSalvo = animalService.cadastrarGato(gato);
+            Gato gatoSalvo = animalService.cadastrarGato(dados);
             return ResponseEntity.status(HttpStatus.CREATED).body(gatoSalvo);
+        } catch (NomeDuplicadoException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(criarMensagemErro(e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(criarMensagemErro(e.getMessage()));
@@ -143,17 +271,28 @@ public class AnimalController {
     // ========== ENDPOINTS PUT (UPDATE) - CORRIGIDO! ==========
 
     /**
-     * PUT /api/animais/{id}
+     * PUT (ou PATCH) /api/animais/{id}
      * Atualiza dados de um animal (funciona para Animal, Cachorro e Gato)
-     * Agora aceita Map genérico e detecta o tipo automaticamente
+     * Corpo em JSON Merge Patch: só os campos enviados são alterados
+     * If-Match (opcional): versão lida no ETag do GET; 412 se outra pessoa
+     * alterou os mesmos campos depois dela
      */
-    @PutMapping("/{id}")
+    @RequestMapping(value = "/{id}", method = {RequestMethod.PUT, RequestMethod.PATCH})
     public ResponseEntity<?> atualizarAnimal(
             @PathVariable Long id,
-            @RequestBody Map<String, Object> dadosAtualizados) {
+            @RequestBody JsonNode dadosAtualizados,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
-            Animal animal = animalService.atualizarAnimalGenerico(id, dadosAtualizados);
-            return ResponseEntity.ok(animal);
+            Long versaoEsperada = Versoes.lerIfMatch(ifMatch);
+            Animal animal = animalService.atualizarAnimalGenerico(id, dadosAtualizados, versaoEsperada);
+            return ResponseEntity.ok()
+                .eTag(Versoes.etag(animal.getVersao()))
+                .body(animal);
+        } catch (ConflitoVersaoException e) {
+            return Versoes.conflito(e, criarMensagemErro(e.getMessage()));
+        } catch (NomeDuplicadoException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(criarMensagemErro(e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(criarMensagemErro(e.getMessage()));
@@ -181,6 +320,91 @@ public class AnimalController {
 
     // ========== MÉTODOS AUXILIARES ==========
 
+    private boolean isPaginado(String cursor, Integer limite) {
+        return cursor != null || limite != null;
+    }
+
+    private boolean isSelecao(String fields, String include) {
+        return fields != null || include != null;
+    }
+
+    /**
+     * GET /api/animais com ?fields= / ?include=
+     * ETag = contadores de todas as tabelas lidas (animais e as incluídas)
+     */
+    private ResponseEntity<?> listarSelecao(String fields, String include, String cursor, Integer limite,
+                                            WebRequest request) {
+        Selecao selecao;
+        try {
+            selecao = CamposSelecao.ANIMAL.selecionar(fields, include);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(criarMensagemErro(e.getMessage()));
+        }
+
+        String etag = contadorAlteracoes.etag(selecao.tabelas());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        if (isPaginado(cursor, limite)) {
+            return responderPagina(() -> animalService.listarTodos(selecao, cursor, limite), etag);
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(Versoes.REVALIDAR)
+            .body(animalService.listarTodos(selecao));
+    }
+
+    /**
+     * GET /api/animais/{id} com ?fields= / ?include=
+     */
+    private ResponseEntity<?> buscarSelecao(Long id, String fields, String include, WebRequest request) {
+        try {
+            Selecao selecao = CamposSelecao.ANIMAL.selecionar(fields, include);
+            String etag = contadorAlteracoes.etag(selecao.tabelas());
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+
+            Optional<Map<String, Object>> animal = animalService.buscarPorId(id, selecao);
+            if (animal.isPresent()) {
+                return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(Versoes.REVALIDAR)
+                    .body(animal.get());
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(criarMensagemErro("Animal não encontrado com ID: " + id));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(criarMensagemErro(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(criarMensagemErro("Erro ao buscar animal: " + e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<?> responderPagina(Supplier<Pagina<?>> consulta) {
+        return responderPagina(consulta, null);
+    }
+
+    private ResponseEntity<?> responderPagina(Supplier<Pagina<?>> consulta, String etag) {
+        try {
+            Pagina<?> pagina = consulta.get();
+            if (etag == null) {
+                return ResponseEntity.ok(pagina);
+            }
+            return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(Versoes.REVALIDAR)
+                .body(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(criarMensagemErro(e.getMessage()));
+        }
+    }
+
     private Map<String, String> criarMensagemErro(String mensagem) {
         Map<String, String> response = new HashMap<>();
         response.put("erro", mensagem);
@@ -0,0 +1,93 @@
+package com.healthpet.veterinaria.controller;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+import com.healthpet.veterinaria.service.AuditoriaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * AuditoriaController - Controlador REST API
+ * 
+ * Consulta ao diário de auditoria de animais, vacinas e prontuários.
+ * 
+ * Endpoints:
+ * - GET /api/auditoria/{tabela}/{id}?em=2026-05-01T14:30:00 → Registro como estava no instante
+ * - GET /api/auditoria/{tabela}/{id}/historico              → Todas as alterações do registro
+ * 
+ * {tabela}: animais, vacinas ou prontuarios
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/auditoria")
+@CrossOrigin(origins = "*")
+public class AuditoriaController {
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    /**
+     * GET /api/auditoria/{tabela}/{id}?em=...
+     * Reconstrói o registro no instante informado (padrão: agora), no mesmo formato da API
+     */
+    @GetMapping("/{tabela}/{id}")
+    public ResponseEntity<?> reconstruir(
+            @PathVariable String tabela,
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime em) {
+        try {
+            Tabela tabelaAuditada = auditoriaService.tabela(tabela);
+            Optional<ObjectNode> registro = auditoriaService.reconstruir(tabelaAuditada, id, em);
+
+            if (registro.isPresent()) {
+                return ResponseEntity.ok(registro.get());
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(criarMensagemErro("Registro não encontrado no diário de auditoria"
+                                + ((em != null) ? " em " + em : "")));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(criarMensagemErro(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(criarMensagemErro("Erro ao reconstruir registro: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/auditoria/{tabela}/{id}/historico
+     * Entradas do diário do registro, da mais antiga para a mais recente
+     */
+    @GetMapping("/{tabela}/{id}/historico")
+    public ResponseEntity<?> listarHistorico(@PathVariable String tabela, @PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(auditoriaService.listarHistorico(auditoriaService.tabela(tabela), id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(criarMensagemErro(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(criarMensagemErro("Erro ao buscar histórico: " + e.getMessage()));
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private Map<String, String> criarMensagemErro(String mensagem) {
+        Map<String, String> response = new HashMap<>();
+        response.put("erro", mensagem);
+        response.put("sucesso", "false");
+        return response;
+    }
+}
@@ -0,0 +1,53 @@
+package com.healthpet.veterinaria.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CacheController - Controlador REST API
+ * 
+ * Expõe as métricas dos caches de leitura (ver CacheConfig).
+ * 
+ * Endpoints:
+ * - GET /api/cache/estatisticas → Acertos, falhas, taxa de acerto, remoções e tamanho de cada cache
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * GET /api/cache/estatisticas
+     */
+    @GetMapping("/estatisticas")
+    public ResponseEntity<Map<String, Object>> obterEstatisticas() {
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        for (String nome : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(nome);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                CacheStats stats = caffeine.stats();
+                Map<String, Object> dados = new LinkedHashMap<>();
+                dados.put("tamanho", caffeine.estimatedSize());
+                dados.put("acertos", stats.hitCount());
+                dados.put("falhas", stats.missCount());
+                dados.put("taxaAcerto", stats.hitRate());
+                dados.put("remocoes", stats.evictionCount());
+                resposta.put(nome, dados);
+            }
+        }
+        return ResponseEntity.ok(resposta);
+    }
+}
@@ -0,0 +1,56 @@
+package com.healthpet.veterinaria.controller;
+
+import com.healthpet.veterinaria.service.AnimalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DashboardController - Controlador REST API
+ * 
+ * Fornece os contadores do painel inicial já calculados no servidor,
+ * evitando que o frontend baixe as listas completas só para contar.
+ * 
+ * Endpoints:
+ * - GET /api/dashboard/resumo → Contadores de animais e vacinas
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    @Autowired
+    private AnimalService animalService;
+
+    /**
+     * GET /api/dashboard/resumo
+     * Retorna total de animais, cachorros, gatos, outros,
+     * agrupamentos por espécie/faixa etária e vacinas vencidas/próximas
+     */
+    @GetMapping("/resumo")
+    public ResponseEntity<?> obterResumo() {
+        try {
+            Map<String, Object> resumo = animalService.obterEstatisticas();
+            return ResponseEntity.ok(resumo);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(criarMensagemErro("Erro ao carregar resumo: " + e.getMessage()));
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private Map<String, String> criarMensagemErro(String mensagem) {
+        Map<String, String> response = new HashMap<>();
+        response.put("erro", mensagem);
+        response.put("sucesso", "false");
+        return response;
+    }
+}
@@ -0,0 +1,43 @@
+package com.healthpet.veterinaria.controller;
+
+import com.healthpet.veterinaria.service.ExportacaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * ExportacaoController - Controlador REST API
+ * 
+ * Exportação completa dos dados para relatórios noturnos.
+ * A resposta é escrita aos poucos (streaming), sem montar a lista na memória.
+ * 
+ * Endpoints:
+ * - GET /api/exportacao/animais → NDJSON com animal, vacinas e prontuário (uma linha por animal)
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/exportacao")
+@CrossOrigin(origins = "*")
+public class ExportacaoController {
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    /**
+     * GET /api/exportacao/animais
+     * Exporta todos os animais com vacinas e prontuário em NDJSON
+     */
+    @GetMapping("/animais")
+    public ResponseEntity<StreamingResponseBody> exportarAnimais() {
+        StreamingResponseBody corpo = saida -> exportacaoService.exportarAnimaisNdjson(saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"animais.ndjson\"")
+                .body(corpo);
+    }
+}
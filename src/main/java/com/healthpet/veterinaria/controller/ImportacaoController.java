@@ -0,0 +1,91 @@
+package com.healthpet.veterinaria.controller;
+
+import com.healthpet.veterinaria.dto.AnimalImportacaoDTO;
+import com.healthpet.veterinaria.dto.RelatorioImportacao;
+import com.healthpet.veterinaria.dto.VacinaImportacaoDTO;
+import com.healthpet.veterinaria.service.ImportacaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * ImportacaoController - Controlador REST API
+ * 
+ * Importação em massa para migração de clínicas.
+ * Cada endpoint aceita um array JSON (application/json) ou CSV (text/csv)
+ * e responde com um relatório de erros por linha.
+ * 
+ * Endpoints:
+ * - POST /api/importacao/animais → Importa animais (campo "tipo": CACHORRO, GATO ou ANIMAL)
+ * - POST /api/importacao/vacinas → Importa vacinas (campo "animalId" obrigatório)
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/importacao")
+@CrossOrigin(origins = "*")
+public class ImportacaoController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    /**
+     * POST /api/importacao/animais (JSON)
+     */
+    @PostMapping(value = "/animais", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importarAnimais(@RequestBody List<AnimalImportacaoDTO> animais) {
+        return importar(() -> importacaoService.importarAnimais(animais));
+    }
+
+    /**
+     * POST /api/importacao/animais (CSV)
+     */
+    @PostMapping(value = "/animais", consumes = TEXT_CSV)
+    public ResponseEntity<?> importarAnimaisCsv(@RequestBody String csv) {
+        return importar(() -> importacaoService.importarAnimaisCsv(csv));
+    }
+
+    /**
+     * POST /api/importacao/vacinas (JSON)
+     */
+    @PostMapping(value = "/vacinas", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importarVacinas(@RequestBody List<VacinaImportacaoDTO> vacinas) {
+        return importar(() -> importacaoService.importarVacinas(vacinas));
+    }
+
+    /**
+     * POST /api/importacao/vacinas (CSV)
+     */
+    @PostMapping(value = "/vacinas", consumes = TEXT_CSV)
+    public ResponseEntity<?> importarVacinasCsv(@RequestBody String csv) {
+        return importar(() -> importacaoService.importarVacinasCsv(csv));
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private ResponseEntity<?> importar(Supplier<RelatorioImportacao> importacao) {
+        try {
+            return ResponseEntity.ok(importacao.get());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(criarMensagemErro("Erro na importação: " + e.getMessage()));
+        }
+    }
+
+    private Map<String, String> criarMensagemErro(String mensagem) {
+        Map<String, String> response = new HashMap<>();
+        response.put("erro", mensagem);
+        response.put("sucesso", "false");
+        return response;
+    }
+}
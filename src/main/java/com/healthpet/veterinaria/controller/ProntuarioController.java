@@ -1,13 +1,24 @@
 package com.healthpet.veterinaria.controller;
 
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+import com.healthpet.veterinaria.dto.SerieMedicoesDTO;
 import com.healthpet.veterinaria.model.Prontuario;
+import com.healthpet.veterinaria.selecao.CamposSelecao;
+import com.healthpet.veterinaria.selecao.Selecao;
+import com.healthpet.veterinaria.service.MedicaoService;
 import com.healthpet.veterinaria.service.ProntuarioService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -19,6 +30,7 @@ import java.util.Optional;
  * Endpoints:
  * - GET    /api/prontuarios/animal/{animalId} → Busca prontuário por animal
  * - POST   /api/prontuarios/animal/{animalId} → Cria/atualiza prontuário
+ * - GET    /api/prontuarios/animal/{animalId}/medicoes → Histórico de peso e altura (série reduzida)
  * - DELETE /api/prontuarios/{id}              → Deleta prontuário
  * 
  * @author Felipe Brito
@@ -32,21 +44,42 @@ public class ProntuarioController {
     @Autowired
     private ProntuarioService prontuarioService;
 
+    @Autowired
+    private ContadorAlteracoes contadorAlteracoes;
+
+    @Autowired
+    private MedicaoService medicaoService;
+
     /**
      * GET /api/prontuarios/animal/{animalId}
      * Busca prontuário de um animal específico
+     * ETag = contador de alterações da tabela de prontuários (304 sem acessar o banco)
+     * ?fields=peso,alergias → só os campos pedidos (ver CamposSelecao)
      */
     @GetMapping("/animal/{animalId}")
-    public ResponseEntity<?> buscarPorAnimal(@PathVariable Long animalId) {
+    public ResponseEntity<?> buscarPorAnimal(
+            @PathVariable Long animalId,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
         try {
-            Optional<Prontuario> prontuario = prontuarioService.buscarPorAnimalId(animalId);
-            
-            if (prontuario.isPresent()) {
-                return ResponseEntity.ok(prontuario.get());
-            } else {
-                // Retorna prontuário vazio se não existir
-                return ResponseEntity.ok(new Prontuario());
+            Selecao selecao = (fields != null) ? CamposSelecao.PRONTUARIO.selecionar(fields, null) : null;
+
+            String etag = contadorAlteracoes.etag(Tabela.PRONTUARIOS);
+            if (request.checkNotModified(etag)) {
+                return null;
             }
+
+            // Retorna prontuário vazio se não existir
+            Object prontuario = (selecao != null)
+                    ? prontuarioService.buscarPorAnimalId(animalId, selecao).orElseGet(LinkedHashMap::new)
+                    : prontuarioService.buscarPorAnimalId(animalId).orElseGet(Prontuario::new);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(Versoes.REVALIDAR)
+                    .body(prontuario);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(criarMensagemErro(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(criarMensagemErro("Erro ao buscar prontuário: " + e.getMessage()));
@@ -73,6 +106,42 @@ public class ProntuarioController {
         }
     }
 
+    /**
+     * GET /api/prontuarios/animal/{animalId}/medicoes?inicio=2024-01-01&fim=2026-12-31&pontos=50
+     * Histórico de peso, altura e IMC para gráficos: o período (padrão: da primeira à
+     * última medição) é dividido em até 'pontos' intervalos com mínimo, máximo e média.
+     * ETag = contador de alterações das medições
+     */
+    @GetMapping("/animal/{animalId}/medicoes")
+    public ResponseEntity<?> buscarMedicoes(
+            @PathVariable Long animalId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) Integer pontos,
+            WebRequest request) {
+        try {
+            String etag = contadorAlteracoes.etag(Tabela.MEDICOES);
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+
+            SerieMedicoesDTO serie = medicaoService.gerarSerie(animalId,
+                    (inicio != null) ? inicio.atStartOfDay() : null,
+                    (fim != null) ? fim.atTime(LocalTime.MAX) : null,
+                    pontos);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(Versoes.REVALIDAR)
+                    .body(serie);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(criarMensagemErro(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(criarMensagemErro("Erro ao buscar medições: " + e.getMessage()));
+        }
+    }
+
     /**
      * DELETE /api/prontuarios/{id}
      * Deleta um prontuário
@@ -93,8 +162,20 @@ public class ProntuarioController {
      * Busca prontuário por ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<?> buscarPorId(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                Optional<Map<String, Object>> campos = prontuarioService.buscarPorId(
+                        id, CamposSelecao.PRONTUARIO.selecionar(fields, null));
+                if (campos.isPresent()) {
+                    return ResponseEntity.ok(campos.get());
+                }
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(criarMensagemErro("Prontuário não encontrado"));
+            }
+
             Optional<Prontuario> prontuario = prontuarioService.buscarPorId(id);
             
             if (prontuario.isPresent()) {
@@ -103,6 +184,9 @@ public class ProntuarioController {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(criarMensagemErro("Prontuário não encontrado"));
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(criarMensagemErro(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(criarMensagemErro("Erro ao buscar prontuário: " + e.getMessage()));
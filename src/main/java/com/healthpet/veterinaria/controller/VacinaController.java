@@ -1,17 +1,26 @@
 package com.healthpet.veterinaria.controller;
 
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+import com.healthpet.veterinaria.dto.Pagina;
 import com.healthpet.veterinaria.model.Vacina;
+import com.healthpet.veterinaria.selecao.CamposSelecao;
+import com.healthpet.veterinaria.selecao.Selecao;
+import com.healthpet.veterinaria.service.ConflitoVersaoException;
 import com.healthpet.veterinaria.service.VacinaService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * VacinaController - Controlador REST API
@@ -29,6 +38,16 @@ import java.util.Optional;
  * - GET    /api/vacinas/proximas           → Lista próximas
  * - PUT    /api/vacinas/{id}/completa      → Marca como completa
  * 
+ * Paginação: /api/vacinas, /vencidas e /proximas aceitam ?limite=N&cursor=X.
+ * Sem esses parâmetros a resposta continua sendo a lista completa.
+ * 
+ * Campos sob medida: /api/vacinas, /{id} e /animal/{animalId} aceitam ?fields=
+ * (ver CamposSelecao).
+ * 
+ * status, vencida, proxima e mensagemProximaDose dependem da data de hoje, então
+ * fazem parte do ETag: o de uma vacina leva o dia junto com a versão, e o contador
+ * de vacinas das listagens é incrementado na virada do dia (AgendaVacinas).
+ * 
  * @author Felipe Brito
  * @version 1.0
  */
@@ -40,12 +59,24 @@ public class VacinaController {
     @Autowired
     private VacinaService vacinaService;
 
+    @Autowired
+    private ContadorAlteracoes contadorAlteracoes;
+
     /**
      * GET /api/vacinas
      * Lista todas as vacinas
      */
     @GetMapping
-    public ResponseEntity<List<Vacina>> listarTodas() {
+    public ResponseEntity<?> listarTodas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return listarSelecao(fields, cursor, limite);
+        }
+        if (isPaginado(cursor, limite)) {
+            return responderPagina(() -> vacinaService.listarTodas(cursor, limite));
+        }
         List<Vacina> vacinas = vacinaService.listarTodas();
         return ResponseEntity.ok(vacinas);
     }
@@ -55,16 +86,34 @@ public class VacinaController {
      * Busca vacina por ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<?> buscarPorId(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                Optional<Map<String, Object>> campos = vacinaService.buscarPorId(
+                        id, CamposSelecao.VACINA.selecionar(fields, null));
+                if (campos.isPresent()) {
+                    return ResponseEntity.ok(campos.get());
+                }
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(criarMensagemErro("Vacina não encontrada"));
+            }
+
             Optional<Vacina> vacina = vacinaService.buscarPorId(id);
             
             if (vacina.isPresent()) {
-                return ResponseEntity.ok(vacina.get());
+                return ResponseEntity.ok()
+                        .eTag(Versoes.etag(vacina.get().getVersao(), LocalDate.now()))
+                        .cacheControl(Versoes.REVALIDAR)
+                        .body(vacina.get());
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(criarMensagemErro("Vacina não encontrada"));
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(criarMensagemErro(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(criarMensagemErro("Erro ao buscar vacina: " + e.getMessage()));
@@ -74,11 +123,35 @@ public class VacinaController {
     /**
      * GET /api/vacinas/animal/{animalId}
      * Lista todas as vacinas de um animal
+     * ETag = contador de alterações da tabela de vacinas (304 sem acessar o banco)
+     * ?fields=nome,proximaDose → só os campos pedidos (ver CamposSelecao)
      */
     @GetMapping("/animal/{animalId}")
-    public ResponseEntity<List<Vacina>> listarPorAnimal(@PathVariable Long animalId) {
-        List<Vacina> vacinas = vacinaService.listarVacinasPorAnimal(animalId);
-        return ResponseEntity.ok(vacinas);
+    public ResponseEntity<?> listarPorAnimal(
+            @PathVariable Long animalId,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Selecao selecao = null;
+        if (fields != null) {
+            try {
+                selecao = CamposSelecao.VACINA.selecionar(fields, null);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(criarMensagemErro(e.getMessage()));
+            }
+        }
+
+        String etag = contadorAlteracoes.etag(Tabela.VACINAS);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<?> vacinas = (selecao != null)
+                ? vacinaService.listarVacinasPorAnimal(animalId, selecao)
+                : vacinaService.listarVacinasPorAnimal(animalId);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(Versoes.REVALIDAR)
+                .body(vacinas);
     }
 
     /**
@@ -104,14 +177,22 @@ public class VacinaController {
     /**
      * PUT /api/vacinas/{id}
      * Atualiza uma vacina
+     * If-Match (opcional): versão lida no ETag do GET; 412 se outra pessoa
+     * alterou os mesmos campos depois dela
      */
     @PutMapping("/{id}")
     public ResponseEntity<?> atualizarVacina(
             @PathVariable Long id,
-            @RequestBody Vacina vacina) {
+            @RequestBody Vacina vacina,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         try {
-            Vacina vacinaAtualizada = vacinaService.atualizarVacina(id, vacina);
-            return ResponseEntity.ok(vacinaAtualizada);
+            Long versaoEsperada = Versoes.lerIfMatch(ifMatch);
+            Vacina vacinaAtualizada = vacinaService.atualizarVacina(id, vacina, versaoEsperada);
+            return ResponseEntity.ok()
+                    .eTag(Versoes.etag(vacinaAtualizada.getVersao(), LocalDate.now()))
+                    .body(vacinaAtualizada);
+        } catch (ConflitoVersaoException e) {
+            return Versoes.conflito(e, criarMensagemErro(e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(criarMensagemErro(e.getMessage()));
@@ -144,7 +225,12 @@ public class VacinaController {
      * Lista todas as vacinas vencidas
      */
     @GetMapping("/vencidas")
-    public ResponseEntity<List<Vacina>> listarVencidas() {
+    public ResponseEntity<?> listarVencidas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        if (isPaginado(cursor, limite)) {
+            return responderPagina(() -> vacinaService.buscarVacinasVencidas(cursor, limite));
+        }
         List<Vacina> vacinas = vacinaService.buscarVacinasVencidas();
         return ResponseEntity.ok(vacinas);
     }
@@ -154,7 +240,12 @@ public class VacinaController {
      * Lista vacinas próximas ao vencimento (próximos 7 dias)
      */
     @GetMapping("/proximas")
-    public ResponseEntity<List<Vacina>> listarProximas() {
+    public ResponseEntity<?> listarProximas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite) {
+        if (isPaginado(cursor, limite)) {
+            return responderPagina(() -> vacinaService.buscarVacinasProximas(cursor, limite));
+        }
         List<Vacina> vacinas = vacinaService.buscarVacinasProximas();
         return ResponseEntity.ok(vacinas);
     }
@@ -201,6 +292,36 @@ public class VacinaController {
 
     // ========== MÉTODOS AUXILIARES ==========
 
+    private boolean isPaginado(String cursor, Integer limite) {
+        return cursor != null || limite != null;
+    }
+
+    /**
+     * GET /api/vacinas com ?fields=
+     */
+    private ResponseEntity<?> listarSelecao(String fields, String cursor, Integer limite) {
+        Selecao selecao;
+        try {
+            selecao = CamposSelecao.VACINA.selecionar(fields, null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(criarMensagemErro(e.getMessage()));
+        }
+        if (isPaginado(cursor, limite)) {
+            return responderPagina(() -> vacinaService.listarTodas(selecao, cursor, limite));
+        }
+        return ResponseEntity.ok(vacinaService.listarTodas(selecao));
+    }
+
+    private ResponseEntity<?> responderPagina(Supplier<Pagina<?>> consulta) {
+        try {
+            return ResponseEntity.ok(consulta.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(criarMensagemErro(e.getMessage()));
+        }
+    }
+
     private Map<String, String> criarMensagemErro(String mensagem) {
         Map<String, String> response = new HashMap<>();
         response.put("erro", mensagem);
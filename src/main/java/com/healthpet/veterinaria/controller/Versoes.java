@@ -0,0 +1,87 @@
+package com.healthpet.veterinaria.controller;
+
+import com.healthpet.veterinaria.service.ConflitoVersaoException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Versoes - Conversão entre a versão das entidades (@Version) e os cabeçalhos HTTP
+ * 
+ * GET e PUT devolvem a versão no ETag ("3"); o PUT aceita a mesma versão no
+ * If-Match para que a alteração seja conferida contra a versão atual.
+ * 
+ * Os GET também respondem 304 quando o If-None-Match ainda é a versão atual
+ * (listagens usam o ContadorAlteracoes da tabela como ETag).
+ * 
+ * Quando a resposta tem campos calculados a partir da data de hoje (status da
+ * vacina), o dia entra no ETag ("3-20261017"): a versão não muda à meia-noite,
+ * mas o conteúdo sim. O If-Match considera só a versão.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+final class Versoes {
+
+    /**
+     * O navegador guarda a resposta, mas confirma (If-None-Match) antes de reusar:
+     * mudou → 200 com o conteúdo novo; não mudou → 304 sem corpo
+     */
+    static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
+    private Versoes() {
+    }
+
+    /**
+     * Valor do ETag para a versão ("3")
+     */
+    static String etag(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    /**
+     * Valor do ETag para a versão lida no dia ("3-20261017")
+     */
+    static String etag(Long versao, LocalDate dia) {
+        return "\"" + versao + "-" + dia.format(DateTimeFormatter.BASIC_ISO_DATE) + "\"";
+    }
+
+    /**
+     * Versão informada no If-Match; nula quando o cabeçalho não veio ou é "*"
+     * Aceita também ETag fraco (W/"3") e ETag com o dia ("3-20261017")
+     */
+    static Long lerIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        valor = valor.replace("\"", "");
+        int dia = valor.indexOf('-');
+        if (dia > 0) {
+            valor = valor.substring(0, dia);
+        }
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match inválido: " + ifMatch);
+        }
+    }
+
+    /**
+     * 412 com o ETag da versão atual (quando conhecida), para o cliente recarregar
+     */
+    static ResponseEntity<?> conflito(ConflitoVersaoException e, Object corpo) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+        if (e.getVersaoAtual() != null) {
+            resposta.eTag(etag(e.getVersaoAtual()));
+        }
+        return resposta.body(corpo);
+    }
+}
@@ -0,0 +1,249 @@
+package com.healthpet.veterinaria.dto;
+
+import com.healthpet.veterinaria.model.Animal;
+import com.healthpet.veterinaria.model.Cachorro;
+import com.healthpet.veterinaria.model.Gato;
+import com.healthpet.veterinaria.model.Prontuario;
+
+import java.util.Map;
+
+/**
+ * AnimalImportacaoDTO - Uma linha da importação em massa de animais
+ * 
+ * Recebida como elemento de um array JSON ou como linha de CSV.
+ * O campo "tipo" define a entidade criada: CACHORRO, GATO ou ANIMAL (padrão).
+ * Peso, altura, alergias, medicamentos e condições vão para o prontuário do animal.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class AnimalImportacaoDTO {
+
+    private String tipo;
+    private String nome;
+    private String especie;
+    private Double idade;
+    private String nomeDono;
+    private String telefone;
+    private String raca;
+    private Double peso;
+    private Double altura;
+    private String alergias;
+    private String medicamentosEmUso;
+    private String condicoesPreExistentes;
+
+    // Cachorro
+    private String porte;
+
+    // Gato
+    private String pelagem;
+    private String temperamento;
+
+    // ========== CONVERSÕES ==========
+
+    /**
+     * Cria o DTO a partir de uma linha CSV (cabeçalhos em minúsculas)
+     * 
+     * @throws IllegalArgumentException se algum número estiver em formato inválido
+     */
+    public static AnimalImportacaoDTO deCsv(Map<String, String> campos) {
+        AnimalImportacaoDTO dto = new AnimalImportacaoDTO();
+        dto.tipo = campos.get("tipo");
+        dto.nome = campos.get("nome");
+        dto.especie = campos.get("especie");
+        dto.idade = CamposCsv.decimal(campos, "idade");
+        dto.nomeDono = campos.get("nomedono");
+        dto.telefone = campos.get("telefone");
+        dto.raca = campos.get("raca");
+        dto.peso = CamposCsv.decimal(campos, "peso");
+        dto.altura = CamposCsv.decimal(campos, "altura");
+        dto.alergias = campos.get("alergias");
+        dto.medicamentosEmUso = campos.get("medicamentosemuso");
+        dto.condicoesPreExistentes = campos.get("condicoespreexistentes");
+        dto.porte = campos.get("porte");
+        dto.pelagem = campos.get("pelagem");
+        dto.temperamento = campos.get("temperamento");
+        return dto;
+    }
+
+    /**
+     * Cria a entidade correspondente ao tipo informado (ainda não validada)
+     * 
+     * @throws IllegalArgumentException se o tipo não for reconhecido
+     */
+    public Animal paraEntidade() {
+        Animal animal;
+        String tipoNormalizado = (tipo == null || tipo.isBlank()) ? "ANIMAL" : tipo.trim().toUpperCase();
+
+        switch (tipoNormalizado) {
+            case "CACHORRO":
+                Cachorro cachorro = new Cachorro();
+                cachorro.setPorte(porte);
+                animal = cachorro;
+                break;
+            case "GATO":
+                Gato gato = new Gato();
+                gato.setPelagem(pelagem);
+                gato.setTemperamento(temperamento);
+                animal = gato;
+                break;
+            case "ANIMAL":
+                animal = new Animal();
+                break;
+            default:
+                throw new IllegalArgumentException("Tipo inválido: " + tipo + " (use CACHORRO, GATO ou ANIMAL)");
+        }
+
+        animal.setNome(nome);
+        animal.setEspecie(especie);
+        animal.setIdade(idade);
+        animal.setNomeDono(nomeDono);
+        animal.setTelefone(telefone);
+        animal.setRaca(raca);
+        return animal;
+    }
+
+    /**
+     * Prontuário com os dados clínicos da linha (peso, alergias...),
+     * ou null se nenhum foi informado
+     */
+    public Prontuario paraProntuario(Animal animal) {
+        if (peso == null && altura == null && vazio(alergias)
+                && vazio(medicamentosEmUso) && vazio(condicoesPreExistentes)) {
+            return null;
+        }
+        Prontuario prontuario = new Prontuario(animal);
+        prontuario.setPeso(peso);
+        prontuario.setAltura(altura);
+        prontuario.setAlergias(alergias);
+        prontuario.setMedicamentosEmUso(medicamentosEmUso);
+        prontuario.setCondicoesPreExistentes(condicoesPreExistentes);
+        return prontuario;
+    }
+
+    private static boolean vazio(String valor) {
+        return valor == null || valor.isBlank();
+    }
+
+    // ========== GETTERS E SETTERS ==========
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getEspecie() {
+        return especie;
+    }
+
+    public void setEspecie(String especie) {
+        this.especie = especie;
+    }
+
+    public Double getIdade() {
+        return idade;
+    }
+
+    public void setIdade(Double idade) {
+        this.idade = idade;
+    }
+
+    public String getNomeDono() {
+        return nomeDono;
+    }
+
+    public void setNomeDono(String nomeDono) {
+        this.nomeDono = nomeDono;
+    }
+
+    public String getTelefone() {
+        return telefone;
+    }
+
+    public void setTelefone(String telefone) {
+        this.telefone = telefone;
+    }
+
+    public String getRaca() {
+        return raca;
+    }
+
+    public void setRaca(String raca) {
+        this.raca = raca;
+    }
+
+    public Double getPeso() {
+        return peso;
+    }
+
+    public void setPeso(Double peso) {
+        this.peso = peso;
+    }
+
+    public Double getAltura() {
+        return altura;
+    }
+
+    public void setAltura(Double altura) {
+        this.altura = altura;
+    }
+
+    public String getAlergias() {
+        return alergias;
+    }
+
+    public void setAlergias(String alergias) {
+        this.alergias = alergias;
+    }
+
+    public String getMedicamentosEmUso() {
+        return medicamentosEmUso;
+    }
+
+    public void setMedicamentosEmUso(String medicamentosEmUso) {
+        this.medicamentosEmUso = medicamentosEmUso;
+    }
+
+    public String getCondicoesPreExistentes() {
+        return condicoesPreExistentes;
+    }
+
+    public void setCondicoesPreExistentes(String condicoesPreExistentes) {
+        this.condicoesPreExistentes = condicoesPreExistentes;
+    }
+
+    public String getPorte() {
+        return porte;
+    }
+
+    public void setPorte(String porte) {
+        this.porte = porte;
+    }
+
+    public String getPelagem() {
+        return pelagem;
+    }
+
+    public void setPelagem(String pelagem) {
+        this.pelagem = pelagem;
+    }
+
+    public String getTemperamento() {
+        return temperamento;
+    }
+
+    public void setTemperamento(String temperamento) {
+        this.temperamento = temperamento;
+    }
+}
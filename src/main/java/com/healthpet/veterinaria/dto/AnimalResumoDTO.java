@@ -0,0 +1,43 @@
+package com.healthpet.veterinaria.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.healthpet.veterinaria.model.Animal;
+
+/**
+ * AnimalResumoDTO - Linha da listagem de animais (cards do painel e buscas)
+ *
+ * Montado direto pela query (SELECT new ..., ver AnimalRepository), só com as
+ * colunas exibidas: sem os textos longos do prontuário (alergias, medicamentos,
+ * condições) e sem carregar a entidade no contexto de persistência.
+ * A idade formatada é calculada uma vez aqui, e não a cada serialização.
+ *
+ * Os nomes dos campos são os mesmos do JSON de Animal; porte e pelagem
+ * só aparecem para Cachorro e Gato (o frontend identifica o tipo por eles).
+ *
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AnimalResumoDTO(
+        Long id,
+        String tipoAnimal,
+        String nome,
+        String especie,
+        String raca,
+        Double idade,
+        String idadeFormatada,
+        String nomeDono,
+        String telefone,
+        String porte,
+        String pelagem) {
+
+    /**
+     * Construtor usado pela query (idade formatada calculada a partir da idade)
+     */
+    public AnimalResumoDTO(Long id, String tipoAnimal, String nome, String especie, String raca,
+                           Double idade, String nomeDono, String telefone, String porte, String pelagem) {
+        this(id, tipoAnimal, nome, especie, raca, idade,
+                idade == null ? null : Animal.formatarIdade(idade),
+                nomeDono, telefone, porte, pelagem);
+    }
+}
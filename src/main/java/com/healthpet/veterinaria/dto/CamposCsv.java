@@ -0,0 +1,74 @@
+package com.healthpet.veterinaria.dto;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * CamposCsv - Conversão dos valores textuais de uma linha CSV
+ * 
+ * Campos vazios viram null. Erros de formato viram IllegalArgumentException
+ * com o nome da coluna, para entrar no relatório de erros da importação.
+ */
+final class CamposCsv {
+
+    private CamposCsv() {
+    }
+
+    static Double decimal(Map<String, String> campos, String coluna) {
+        String valor = campos.get(coluna);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            // Aceita vírgula decimal (planilhas em português)
+            return Double.valueOf(valor.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido em '" + coluna + "': " + valor);
+        }
+    }
+
+    static Long inteiro(Map<String, String> campos, String coluna) {
+        String valor = campos.get(coluna);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido em '" + coluna + "': " + valor);
+        }
+    }
+
+    static LocalDate data(Map<String, String> campos, String coluna) {
+        String valor = campos.get(coluna);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida em '" + coluna + "' (use yyyy-MM-dd): " + valor);
+        }
+    }
+
+    static Boolean booleano(Map<String, String> campos, String coluna) {
+        String valor = campos.get(coluna);
+        if (valor == null) {
+            return null;
+        }
+        switch (valor.toLowerCase()) {
+            case "true":
+            case "sim":
+            case "1":
+                return true;
+            case "false":
+            case "nao":
+            case "não":
+            case "0":
+                return false;
+            default:
+                throw new IllegalArgumentException("Valor inválido em '" + coluna + "': " + valor);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.healthpet.veterinaria.dto;
+
+import com.healthpet.veterinaria.model.Animal;
+import com.healthpet.veterinaria.model.Prontuario;
+import com.healthpet.veterinaria.model.Vacina;
+
+import java.util.List;
+
+/**
+ * FichaAnimalDTO - Ficha completa do paciente
+ * 
+ * Animal, prontuário (null se ainda não existir) e vacinas
+ * (mais recentes primeiro), carregados juntos em uma única query.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class FichaAnimalDTO {
+
+    private final Animal animal;
+    private final Prontuario prontuario;
+    private final List<Vacina> vacinas;
+
+    public FichaAnimalDTO(Animal animal, Prontuario prontuario, List<Vacina> vacinas) {
+        this.animal = animal;
+        this.prontuario = prontuario;
+        this.vacinas = vacinas;
+    }
+
+    // ========== GETTERS ==========
+
+    public Animal getAnimal() {
+        return animal;
+    }
+
+    public Prontuario getProntuario() {
+        return prontuario;
+    }
+
+    public List<Vacina> getVacinas() {
+        return vacinas;
+    }
+}
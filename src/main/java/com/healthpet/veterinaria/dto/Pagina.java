@@ -0,0 +1,44 @@
+package com.healthpet.veterinaria.dto;
+
+import java.util.List;
+
+/**
+ * Pagina - Resultado de uma consulta paginada por cursor (keyset)
+ * 
+ * Em vez de OFFSET, cada página continua a partir do último ID retornado.
+ * O cursor é opaco para o cliente: basta repassá-lo no parâmetro "cursor"
+ * da próxima requisição enquanto "temMais" for verdadeiro.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class Pagina<T> {
+
+    private final List<T> itens;
+    private final String proximoCursor;
+    private final boolean temMais;
+
+    public Pagina(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+        this.temMais = proximoCursor != null;
+    }
+
+    // ========== GETTERS ==========
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public boolean isTemMais() {
+        return temMais;
+    }
+
+    public int getTamanho() {
+        return itens.size();
+    }
+}
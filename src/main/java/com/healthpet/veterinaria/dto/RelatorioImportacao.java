@@ -0,0 +1,74 @@
+package com.healthpet.veterinaria.dto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * RelatorioImportacao - Resultado de uma importação em massa
+ * 
+ * Informa quantas linhas foram recebidas e gravadas e, para cada linha
+ * rejeitada, o número da linha (1 = primeiro registro) e os motivos.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class RelatorioImportacao {
+
+    private final int total;
+    private int importados;
+    private final List<ErroLinha> erros = new ArrayList<>();
+
+    public RelatorioImportacao(int total) {
+        this.total = total;
+    }
+
+    public void registrarImportados(int quantidade) {
+        this.importados += quantidade;
+    }
+
+    public void adicionarErro(int linha, List<String> mensagens) {
+        this.erros.add(new ErroLinha(linha, mensagens));
+    }
+
+    // ========== GETTERS ==========
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getImportados() {
+        return importados;
+    }
+
+    public int getRejeitados() {
+        return erros.size();
+    }
+
+    public List<ErroLinha> getErros() {
+        erros.sort(Comparator.comparingInt(ErroLinha::getLinha));
+        return erros;
+    }
+
+    /**
+     * Erros de uma linha da importação
+     */
+    public static class ErroLinha {
+
+        private final int linha;
+        private final List<String> mensagens;
+
+        public ErroLinha(int linha, List<String> mensagens) {
+            this.linha = linha;
+            this.mensagens = mensagens;
+        }
+
+        public int getLinha() {
+            return linha;
+        }
+
+        public List<String> getMensagens() {
+            return mensagens;
+        }
+    }
+}
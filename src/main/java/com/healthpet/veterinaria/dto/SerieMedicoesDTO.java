@@ -0,0 +1,50 @@
+package com.healthpet.veterinaria.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * SerieMedicoesDTO - Histórico de peso e altura reduzido para gráficos
+ * 
+ * O período é dividido em intervalos de mesma duração; cada intervalo com
+ * medições traz mínimo, máximo e média (intervalos sem medição são omitidos).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SerieMedicoesDTO(
+        Long animalId,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        Long segundosPorIntervalo,
+        List<Intervalo> intervalos) {
+
+    /**
+     * Medições de um intervalo [inicio, fim)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Intervalo(
+            LocalDateTime inicio,
+            LocalDateTime fim,
+            long medicoes,
+            Estatistica peso,
+            Estatistica altura,
+            Estatistica imc) {
+    }
+
+    /**
+     * Mínimo, máximo e média de um valor no intervalo
+     */
+    public record Estatistica(Double min, Double max, Double media) {
+
+        /**
+         * null quando o intervalo não tem nenhum valor desse tipo
+         */
+        public static Estatistica de(Double min, Double max, Double media) {
+            return (media == null) ? null : new Estatistica(min, max, media);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.healthpet.veterinaria.dto;
+
+import com.healthpet.veterinaria.model.Vacina;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * VacinaImportacaoDTO - Uma linha da importação em massa de vacinas
+ * 
+ * Recebida como elemento de um array JSON ou como linha de CSV.
+ * O campo "animalId" indica a qual animal (já cadastrado) a vacina pertence.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class VacinaImportacaoDTO {
+
+    private Long animalId;
+    private String nome;
+    private LocalDate dataAplicacao;
+    private LocalDate proximaDose;
+    private String lote;
+    private String veterinario;
+    private String observacoes;
+    private Boolean completa;
+
+    // ========== CONVERSÕES ==========
+
+    /**
+     * Cria o DTO a partir de uma linha CSV (cabeçalhos em minúsculas, datas em yyyy-MM-dd)
+     * 
+     * @throws IllegalArgumentException se algum número ou data estiver em formato inválido
+     */
+    public static VacinaImportacaoDTO deCsv(Map<String, String> campos) {
+        VacinaImportacaoDTO dto = new VacinaImportacaoDTO();
+        dto.animalId = CamposCsv.inteiro(campos, "animalid");
+        dto.nome = campos.get("nome");
+        dto.dataAplicacao = CamposCsv.data(campos, "dataaplicacao");
+        dto.proximaDose = CamposCsv.data(campos, "proximadose");
+        dto.lote = campos.get("lote");
+        dto.veterinario = campos.get("veterinario");
+        dto.observacoes = campos.get("observacoes");
+        dto.completa = CamposCsv.booleano(campos, "completa");
+        return dto;
+    }
+
+    /**
+     * Cria a entidade (sem o animal, que é associado na gravação)
+     */
+    public Vacina paraEntidade() {
+        Vacina vacina = new Vacina(nome, dataAplicacao);
+        vacina.setProximaDose(proximaDose);
+        vacina.setLote(lote);
+        vacina.setVeterinario(veterinario);
+        vacina.setObservacoes(observacoes);
+        vacina.setCompleta(completa != null ? completa : false);
+        return vacina;
+    }
+
+    // ========== GETTERS E SETTERS ==========
+
+    public Long getAnimalId() {
+        return animalId;
+    }
+
+    public void setAnimalId(Long animalId) {
+        this.animalId = animalId;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public LocalDate getDataAplicacao() {
+        return dataAplicacao;
+    }
+
+    public void setDataAplicacao(LocalDate dataAplicacao) {
+        this.dataAplicacao = dataAplicacao;
+    }
+
+    public LocalDate getProximaDose() {
+        return proximaDose;
+    }
+
+    public void setProximaDose(LocalDate proximaDose) {
+        this.proximaDose = proximaDose;
+    }
+
+    public String getLote() {
+        return lote;
+    }
+
+    public void setLote(String lote) {
+        this.lote = lote;
+    }
+
+    public String getVeterinario() {
+        return veterinario;
+    }
+
+    public void setVeterinario(String veterinario) {
+        this.veterinario = veterinario;
+    }
+
+    public String getObservacoes() {
+        return observacoes;
+    }
+
+    public void setObservacoes(String observacoes) {
+        this.observacoes = observacoes;
+    }
+
+    public Boolean getCompleta() {
+        return completa;
+    }
+
+    public void setCompleta(Boolean completa) {
+        this.completa = completa;
+    }
+}
@@ -1,7 +1,11 @@
 package com.healthpet.veterinaria.model;
 
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoesListener;
+import com.healthpet.veterinaria.auditoria.AuditoriaListener;
+import com.healthpet.veterinaria.busca.IndiceBuscaListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Classe Animal - SUPERCLASSE com JPA
@@ -12,6 +16,12 @@ import jakarta.validation.constraints.*;
  * @Entity - Marca como entidade JPA (tabela no banco)
  * @Inheritance - Define estratégia de herança (SINGLE_TABLE = todas classes em uma tabela)
  * @DiscriminatorColumn - Coluna que identifica o tipo (Animal, Cachorro ou Gato)
+ * @EntityListeners - Mantém o índice de busca em memória e o contador de alterações
+ *                    (ETag das listagens) atualizados, e registra o diário de auditoria
+ * @Version - Lock otimista (coluna versao)
+ * @DynamicUpdate - O UPDATE inclui só as colunas alteradas (a edição costuma mudar 1 ou 2 campos)
+ * 
+ * Peso, altura, alergias, medicamentos e condições ficam só no Prontuario (migração V5).
  * 
  * @author Felipe Brito (adaptado para Spring Boot)
  * @version 2.0
@@ -21,18 +31,31 @@ import jakarta.validation.constraints.*;
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "tipo_animal", discriminatorType = DiscriminatorType.STRING)
 @DiscriminatorValue("ANIMAL")
+@EntityListeners({IndiceBuscaListener.class, ContadorAlteracoesListener.class, AuditoriaListener.class})
+@DynamicUpdate
 public class Animal {
 
     // ========== ATRIBUTOS ==========
     
     /**
      * ID único do animal (chave primária)
-     * @GeneratedValue - Valor gerado automaticamente pelo banco
+     * @GeneratedValue - Valor gerado por sequence (blocos de 50 IDs por ida ao banco),
+     * o que permite ao Hibernate agrupar os INSERTs em lotes JDBC
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "animal_seq")
+    @SequenceGenerator(name = "animal_seq", sequenceName = "animais_seq", allocationSize = 50)
     private Long id;
 
+    /**
+     * Versão para lock otimista: incrementada a cada atualização.
+     * Um UPDATE feito a partir de uma versão antiga falha em vez de sobrescrever
+     * silenciosamente a alteração de outra pessoa (ver ControleVersao)
+     */
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     /**
      * Nome do animal
      * @NotBlank - Não pode ser vazio
@@ -76,38 +99,6 @@ public class Animal {
     @Column(length = 50)
     private String raca;
 
-    // ========== CAMPOS DO PRONTUÁRIO COMPLETO ==========
-
-    /**
-     * Peso do animal em kg
-     */
-    @Column
-    private Double peso;
-
-    /**
-     * Altura/comprimento do animal em cm
-     */
-    @Column
-    private Double altura;
-
-    /**
-     * Alergias conhecidas do animal
-     */
-    @Column(length = 500)
-    private String alergias;
-
-    /**
-     * Medicamentos em uso atualmente
-     */
-    @Column(length = 500)
-    private String medicamentosEmUso;
-
-    /**
-     * Condições pré-existentes (doenças crônicas, etc)
-     */
-    @Column(length = 500)
-    private String condicoesPreExistentes;
-
     // ========== CONSTRUTORES ==========
 
     /**
@@ -127,11 +118,6 @@ public class Animal {
         this.nomeDono = nomeDono;
         this.telefone = telefone;
         this.raca = (raca == null || raca.trim().isEmpty()) ? "Não informado" : raca;
-        this.peso = 0.0;
-        this.altura = 0.0;
-        this.alergias = "Nenhuma alergia conhecida";
-        this.medicamentosEmUso = "Nenhum";
-        this.condicoesPreExistentes = "Nenhuma";
     }
 
     // ========== GETTERS E SETTERS ==========
@@ -144,6 +130,14 @@ public class Animal {
         this.id = id;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public String getNome() {
         return nome;
     }
@@ -192,46 +186,6 @@ public class Animal {
         this.raca = (raca == null || raca.trim().isEmpty()) ? "Não informado" : raca;
     }
 
-    public Double getPeso() {
-        return peso;
-    }
-
-    public void setPeso(Double peso) {
-        this.peso = peso;
-    }
-
-    public Double getAltura() {
-        return altura;
-    }
-
-    public void setAltura(Double altura) {
-        this.altura = altura;
-    }
-
-    public String getAlergias() {
-        return alergias;
-    }
-
-    public void setAlergias(String alergias) {
-        this.alergias = alergias;
-    }
-
-    public String getMedicamentosEmUso() {
-        return medicamentosEmUso;
-    }
-
-    public void setMedicamentosEmUso(String medicamentosEmUso) {
-        this.medicamentosEmUso = medicamentosEmUso;
-    }
-
-    public String getCondicoesPreExistentes() {
-        return condicoesPreExistentes;
-    }
-
-    public void setCondicoesPreExistentes(String condicoesPreExistentes) {
-        this.condicoesPreExistentes = condicoesPreExistentes;
-    }
-
     // ========== MÉTODOS PERSONALIZADOS (mantidos do código original) ==========
 
     /**
@@ -261,8 +215,17 @@ public class Animal {
      * Retorna a idade formatada de forma legível
      */
     public String getIdadeFormatada() {
-        int anos = getAnos();
-        int meses = getMesesAdicionais();
+        return formatarIdade(this.idade);
+    }
+
+    /**
+     * Formata uma idade em anos (ex.: 2.5 → "2 ano(s) e 6 mês(es)")
+     * Também usada pela listagem resumida (AnimalResumoDTO)
+     */
+    public static String formatarIdade(double idade) {
+        int totalMeses = (int) Math.round(idade * 12);
+        int anos = (int) idade;
+        int meses = totalMeses - (anos * 12);
 
         if (anos == 0) {
             return meses + " mês(es)";
@@ -2,6 +2,7 @@ package com.healthpet.veterinaria.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Classe Cachorro - SUBCLASSE de Animal com JPA
@@ -11,12 +12,14 @@ import jakarta.validation.constraints.NotBlank;
  * 
  * @Entity - Marca como entidade JPA
  * @DiscriminatorValue - Valor que identifica esta classe na coluna discriminadora
+ * @DynamicUpdate - UPDATE só com as colunas alteradas (como em Animal)
  * 
  * @author Felipe Brito (adaptado para Spring Boot)
  * @version 2.0
  */
 @Entity
 @DiscriminatorValue("CACHORRO")
+@DynamicUpdate
 public class Cachorro extends Animal {
 
     // ========== ATRIBUTOS ESPECÍFICOS ==========
@@ -0,0 +1,91 @@
+package com.healthpet.veterinaria.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoesListener;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe Medicao - Entidade JPA
+ * 
+ * Peso e altura de um animal em um instante. O prontuário guarda só o valor atual;
+ * cada alteração acrescenta uma medição, formando o histórico de crescimento.
+ * 
+ * Relacionamento: N:1 com Animal
+ * @Immutable - Só inserida: o Hibernate nunca gera UPDATE para ela
+ * (o histórico só é apagado, inteiro, junto com o animal)
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Entity
+@Table(name = "medicoes")
+@Immutable
+@EntityListeners(ContadorAlteracoesListener.class)
+public class Medicao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medicao_seq")
+    @SequenceGenerator(name = "medicao_seq", sequenceName = "medicoes_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Animal medido (LAZY: nunca é serializado junto com a medição)
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "animal_id", nullable = false)
+    @JsonIgnore
+    private Animal animal;
+
+    @Column(name = "data_medicao", nullable = false)
+    private LocalDateTime dataMedicao;
+
+    /**
+     * Peso em quilogramas
+     */
+    private Double peso;
+
+    /**
+     * Altura/comprimento em centímetros
+     */
+    private Double altura;
+
+    // ========== CONSTRUTORES ==========
+
+    /**
+     * Construtor padrão (obrigatório para JPA)
+     */
+    protected Medicao() {
+    }
+
+    public Medicao(Animal animal, LocalDateTime dataMedicao, Double peso, Double altura) {
+        this.animal = animal;
+        this.dataMedicao = dataMedicao;
+        this.peso = peso;
+        this.altura = altura;
+    }
+
+    // ========== GETTERS ==========
+
+    public Long getId() {
+        return id;
+    }
+
+    public Animal getAnimal() {
+        return animal;
+    }
+
+    public LocalDateTime getDataMedicao() {
+        return dataMedicao;
+    }
+
+    public Double getPeso() {
+        return peso;
+    }
+
+    public Double getAltura() {
+        return altura;
+    }
+}
@@ -1,6 +1,8 @@
 package com.healthpet.veterinaria.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoesListener;
+import com.healthpet.veterinaria.auditoria.AuditoriaListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -11,23 +13,27 @@ import java.time.LocalDateTime;
  * Contém informações detalhadas sobre saúde, medidas e histórico.
  * 
  * Relacionamento: 1:1 com Animal (um animal tem um prontuário)
+ * Versões anteriores ficam no diário de auditoria (GET /api/auditoria/prontuarios/{id}?em=...)
  * 
  * @author Felipe Brito
  * @version 1.0
  */
 @Entity
 @Table(name = "prontuarios")
+@EntityListeners({ContadorAlteracoesListener.class, AuditoriaListener.class})
 public class Prontuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prontuario_seq")
+    @SequenceGenerator(name = "prontuario_seq", sequenceName = "prontuarios_seq", allocationSize = 50)
     private Long id;
 
     /**
      * Relacionamento com Animal (1:1)
      * @JsonIgnore previne loop infinito na serialização JSON
+     * LAZY: o animal nunca é serializado junto com o prontuário, então não é carregado
      */
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "animal_id", nullable = false)
     @JsonIgnore
     private Animal animal;
@@ -1,6 +1,9 @@
 package com.healthpet.veterinaria.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.healthpet.veterinaria.agenda.AgendaVacinasListener;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoesListener;
+import com.healthpet.veterinaria.auditoria.AuditoriaListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -14,23 +17,35 @@ import java.time.temporal.ChronoUnit;
  * Controla datas de aplicação, próximas doses e alertas.
  * 
  * Relacionamento: N:1 com Animal (um animal pode ter várias vacinas)
+ * @EntityListeners - Mantém a agenda de próximas doses em memória atualizada,
+ *                    o contador de alterações (ETag das listagens) e o diário de auditoria
  * 
  * @author Felipe Brito
  * @version 1.0
  */
 @Entity
 @Table(name = "vacinas")
+@EntityListeners({AgendaVacinasListener.class, ContadorAlteracoesListener.class, AuditoriaListener.class})
 public class Vacina {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vacina_seq")
+    @SequenceGenerator(name = "vacina_seq", sequenceName = "vacinas_seq", allocationSize = 50)
     private Long id;
 
+    /**
+     * Versão para lock otimista: incrementada a cada atualização (ver ControleVersao)
+     */
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     /**
      * Relacionamento com Animal (N:1)
      * @JsonIgnore previne loop infinito na serialização JSON
+     * LAZY: o animal nunca é serializado junto com a vacina, então não é carregado
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "animal_id", nullable = false)
     @JsonIgnore
     private Animal animal;
@@ -106,6 +121,14 @@ public class Vacina {
         this.id = id;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public Animal getAnimal() {
         return animal;
     }
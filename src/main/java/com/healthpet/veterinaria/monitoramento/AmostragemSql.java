@@ -0,0 +1,51 @@
+package com.healthpet.veterinaria.monitoramento;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * AmostragemSql - Registra no log uma fração dos comandos SQL executados
+ * 
+ * Alternativa barata ao log completo do Hibernate (org.hibernate.SQL + parâmetros):
+ * só o texto do SQL, só de uma amostra, e a taxa pode ser mudada com a aplicação
+ * rodando (PUT /api/admin/sql). Com taxa 0 o custo é uma leitura de variável.
+ * 
+ * Chamado pelo ContadorSql (StatementInspector) para cada comando.
+ * Log: healthpet.sql (nível INFO).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class AmostragemSql {
+
+    private static final Logger log = LoggerFactory.getLogger("healthpet.sql");
+
+    private volatile double taxa;
+
+    public AmostragemSql(double taxa) {
+        setTaxa(taxa);
+    }
+
+    public void registrar(String sql) {
+        double atual = taxa;
+        if (atual > 0 && (atual >= 1 || ThreadLocalRandom.current().nextDouble() < atual)) {
+            log.info(sql);
+        }
+    }
+
+    public double getTaxa() {
+        return taxa;
+    }
+
+    /**
+     * Altera a fração de comandos registrados (0 = nenhum, 1 = todos)
+     */
+    public void setTaxa(double taxa) {
+        if (taxa < 0 || taxa > 1) {
+            throw new IllegalArgumentException("Taxa de amostragem deve estar entre 0 e 1");
+        }
+        this.taxa = taxa;
+    }
+}
@@ -0,0 +1,89 @@
+package com.healthpet.veterinaria.monitoramento;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ContadorSql - Conta os comandos SQL executados em cada requisição
+ * 
+ * Registrado no Hibernate como StatementInspector (ver MonitoramentoConfig):
+ * o Hibernate chama inspect() para cada SQL antes de prepará-lo. A contagem fica
+ * em uma ThreadLocal aberta e fechada pelo MonitoramentoSqlInterceptor; SQL executado
+ * fora de uma requisição (carga inicial, tarefas agendadas) não é contado.
+ * 
+ * Também repassa cada comando para a AmostragemSql (log de uma fração dos SQL).
+ * 
+ * Além do total, guarda quantas vezes cada SELECT se repetiu, o que denuncia o padrão N+1
+ * (a mesma consulta executada uma vez para cada item de uma lista). INSERTs e UPDATEs
+ * repetidos ficam de fora: são normais em gravações em lote.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class ContadorSql implements StatementInspector {
+
+    private static final ThreadLocal<Contagem> ATUAL = new ThreadLocal<>();
+
+    private final AmostragemSql amostragem;
+
+    public ContadorSql(AmostragemSql amostragem) {
+        this.amostragem = amostragem;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        amostragem.registrar(sql);
+        Contagem contagem = ATUAL.get();
+        if (contagem != null) {
+            contagem.registrar(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Começa a contar os comandos da thread atual
+     */
+    public void iniciar() {
+        ATUAL.set(new Contagem());
+    }
+
+    /**
+     * Para de contar e devolve o que foi contado desde iniciar() (ou null se não iniciou)
+     */
+    public Contagem finalizar() {
+        Contagem contagem = ATUAL.get();
+        ATUAL.remove();
+        return contagem;
+    }
+
+    /**
+     * Comandos SQL executados durante uma requisição
+     */
+    public static class Contagem {
+
+        private int total;
+        private final Map<String, Integer> porSql = new HashMap<>();
+
+        private void registrar(String sql) {
+            total++;
+            if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                porSql.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * SELECT que mais se repetiu (null se nenhum foi executado)
+         */
+        public Map.Entry<String, Integer> getMaisRepetido() {
+            return porSql.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.healthpet.veterinaria.monitoramento;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * MonitoramentoSqlInterceptor - Métricas de SQL por endpoint da API
+ * 
+ * Para cada requisição em /api/**:
+ * - healthpet.sql.comandos          → histograma de comandos SQL por requisição (tags: method, uri)
+ * - healthpet.sql.excesso           → requisições acima do limite de comandos
+ * - healthpet.sql.n_mais_um         → requisições em que o mesmo SELECT se repetiu várias vezes (N+1)
+ * 
+ * Os dois últimos casos também geram um WARN no log com o endpoint e o SQL repetido.
+ * A latência por endpoint já é medida pelo Spring (http.server.requests).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class MonitoramentoSqlInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitoramentoSqlInterceptor.class);
+
+    private final ContadorSql contadorSql;
+    private final MeterRegistry registry;
+    private final int maxComandos;
+    private final int repeticoesNMaisUm;
+
+    public MonitoramentoSqlInterceptor(ContadorSql contadorSql, MeterRegistry registry,
+                                       int maxComandos, int repeticoesNMaisUm) {
+        this.contadorSql = contadorSql;
+        this.registry = registry;
+        this.maxComandos = maxComandos;
+        this.repeticoesNMaisUm = repeticoesNMaisUm;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        contadorSql.iniciar();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        ContadorSql.Contagem contagem = contadorSql.finalizar();
+        if (contagem == null) {
+            return;
+        }
+
+        String metodo = request.getMethod();
+        String uri = padraoDaUri(request);
+
+        DistributionSummary.builder("healthpet.sql.comandos")
+                .description("Comandos SQL executados por requisição")
+                .tags("method", metodo, "uri", uri)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(contagem.getTotal());
+
+        if (contagem.getTotal() > maxComandos) {
+            Counter.builder("healthpet.sql.excesso")
+                    .description("Requisições acima do limite de comandos SQL")
+                    .tags("method", metodo, "uri", uri)
+                    .register(registry)
+                    .increment();
+            log.warn("{} {} executou {} comandos SQL (limite: {})", metodo, uri, contagem.getTotal(), maxComandos);
+        }
+
+        Map.Entry<String, Integer> maisRepetido = contagem.getMaisRepetido();
+        if (maisRepetido != null && maisRepetido.getValue() >= repeticoesNMaisUm) {
+            Counter.builder("healthpet.sql.n_mais_um")
+                    .description("Requisições com o mesmo SQL repetido (possível N+1)")
+                    .tags("method", metodo, "uri", uri)
+                    .register(registry)
+                    .increment();
+            log.warn("Possível N+1 em {} {}: o mesmo SELECT foi executado {} vezes: {}",
+                    metodo, uri, maisRepetido.getValue(), maisRepetido.getKey());
+        }
+    }
+
+    /**
+     * Padrão do endpoint (ex.: /api/animais/{id}), para não criar uma série por ID
+     */
+    private String padraoDaUri(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? padrao.toString() : "UNKNOWN";
+    }
+}
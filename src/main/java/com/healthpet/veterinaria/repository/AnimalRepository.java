@@ -1,12 +1,20 @@
 package com.healthpet.veterinaria.repository;
 
+import com.healthpet.veterinaria.dto.AnimalResumoDTO;
 import com.healthpet.veterinaria.model.Animal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * AnimalRepository - Interface de Acesso a Dados
@@ -76,7 +84,7 @@ public interface AnimalRepository extends JpaRepository<Animal, Long> {
      * @Query - Define uma query personalizada em JPQL
      */
     @Query("SELECT a FROM Animal a WHERE TYPE(a) = :tipo")
-    List<Animal> findByTipo(Class<? extends Animal> tipo);
+    List<Animal> findByTipo(@Param("tipo") Class<? extends Animal> tipo);
 
     /**
      * Conta quantos animais existem de cada espécie
@@ -102,4 +110,159 @@ public interface AnimalRepository extends JpaRepository<Animal, Long> {
      * Busca todos os animais ordenados por idade (mais velhos primeiro)
      */
     List<Animal> findAllByOrderByIdadeDesc();
+
+    // ========== LISTAGENS RESUMIDAS (PROJEÇÃO) ==========
+    // Listagens e buscas devolvem AnimalResumoDTO montado pela própria query:
+    // só as colunas exibidas nos cards, sem carregar entidades.
+    //
+    // Todas seguem o padrão "id > cursor ORDER BY id" (paginação por cursor / keyset)
+    // e usam o índice da chave primária, então o custo de cada página não cresce com
+    // o tamanho da tabela. Sem paginação: id > 0 e Limit.unlimited().
+
+    /**
+     * SELECT comum das listagens resumidas (tipo pela coluna discriminadora)
+     */
+    String SELECT_RESUMO = "SELECT new com.healthpet.veterinaria.dto.AnimalResumoDTO(a.id, " +
+            "CASE TYPE(a) WHEN Cachorro THEN 'Cachorro' WHEN Gato THEN 'Gato' ELSE 'Animal' END, " +
+            "a.nome, a.especie, a.raca, a.idade, a.nomeDono, a.telefone, " +
+            "TREAT(a AS Cachorro).porte, TREAT(a AS Gato).pelagem) " +
+            "FROM Animal a ";
+
+    /**
+     * Todos os animais
+     */
+    @Query(SELECT_RESUMO + "WHERE a.id > :id ORDER BY a.id")
+    List<AnimalResumoDTO> listarResumos(@Param("id") Long id, Limit limite);
+
+    /**
+     * Busca por nome (parcial, case-insensitive)
+     */
+    @Query(SELECT_RESUMO + "WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%')) AND a.id > :id ORDER BY a.id")
+    List<AnimalResumoDTO> listarResumosPorNome(@Param("nome") String nome, @Param("id") Long id, Limit limite);
+
+    /**
+     * Busca por espécie (case-insensitive)
+     */
+    @Query(SELECT_RESUMO + "WHERE LOWER(a.especie) = LOWER(:especie) AND a.id > :id ORDER BY a.id")
+    List<AnimalResumoDTO> listarResumosPorEspecie(@Param("especie") String especie, @Param("id") Long id, Limit limite);
+
+    /**
+     * Busca por nome do dono (parcial, case-insensitive)
+     */
+    @Query(SELECT_RESUMO + "WHERE LOWER(a.nomeDono) LIKE LOWER(CONCAT('%', :nomeDono, '%')) AND a.id > :id ORDER BY a.id")
+    List<AnimalResumoDTO> listarResumosPorDono(@Param("nomeDono") String nomeDono, @Param("id") Long id, Limit limite);
+
+    /**
+     * Pesquisa geral em nome, dono, raça e telefone (parcial, case-insensitive).
+     * Usada pela pesquisa enquanto o índice de busca não está pronto.
+     */
+    @Query(SELECT_RESUMO + "WHERE (LOWER(a.nome) LIKE LOWER(CONCAT('%', :termo, '%')) " +
+            "OR LOWER(a.nomeDono) LIKE LOWER(CONCAT('%', :termo, '%')) " +
+            "OR LOWER(a.raca) LIKE LOWER(CONCAT('%', :termo, '%')) " +
+            "OR a.telefone LIKE CONCAT('%', :termo, '%')) AND a.id > :id ORDER BY a.id")
+    List<AnimalResumoDTO> listarResumosPorTermo(@Param("termo") String termo, @Param("id") Long id, Limit limite);
+
+    /**
+     * Animais de um tipo (Cachorro, Gato)
+     */
+    @Query(SELECT_RESUMO + "WHERE TYPE(a) = :tipo AND a.id > :id ORDER BY a.id")
+    List<AnimalResumoDTO> listarResumosPorTipo(@Param("tipo") Class<? extends Animal> tipo, @Param("id") Long id, Limit limite);
+
+    /**
+     * Animais encontrados pelo índice de busca (em qualquer ordem)
+     */
+    @Query(SELECT_RESUMO + "WHERE a.id IN :ids")
+    List<AnimalResumoDTO> listarResumosPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ficha completa do animal em uma única query: cada linha traz
+     * [Animal, Prontuario ou null, Vacina ou null], vacinas mais recentes primeiro.
+     * Animal não mapeia prontuário/vacinas, por isso os joins usam ON explícito.
+     */
+    @Query("SELECT a, p, v FROM Animal a " +
+            "LEFT JOIN Prontuario p ON p.animal = a " +
+            "LEFT JOIN Vacina v ON v.animal = a " +
+            "WHERE a.id = :id " +
+            "ORDER BY v.dataAplicacao DESC, v.id DESC")
+    List<Object[]> buscarFicha(@Param("id") Long id);
+
+    /**
+     * Dentre os IDs informados, retorna os que existem (validação em massa da importação)
+     */
+    @Query("SELECT a.id FROM Animal a WHERE a.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Dentre os nomes informados (já em minúsculas), retorna os que já estão cadastrados.
+     * Usa a coluna da restrição uk_animais_nome, então cada nome é uma busca no índice.
+     */
+    @Query(value = "SELECT nome_normalizado FROM animais WHERE nome_normalizado IN (:nomes)", nativeQuery = true)
+    List<String> findNomesExistentes(@Param("nomes") Collection<String> nomes);
+
+    // ========== AQUECIMENTO ==========
+
+    /**
+     * Animais cadastrados mais recentemente (os mais acessados), para pré-carregar o cache
+     */
+    List<Animal> findAllByOrderByIdDesc(Limit limite);
+
+    // ========== EXPORTAÇÃO (STREAMING) ==========
+
+    /**
+     * Percorre todos os animais ordenados por ID sem carregar a tabela inteira.
+     * O driver busca as linhas em lotes (fetch size) enquanto o Stream é consumido.
+     * Deve ser usado dentro de uma transação e fechado após o uso.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Animal a ORDER BY a.id")
+    Stream<Animal> streamTodosOrdenadosPorId();
+
+    /**
+     * Percorre apenas os campos indexados pela busca (carga do IndiceBuscaAnimais)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.id AS id, a.nome AS nome, a.nomeDono AS nomeDono, a.raca AS raca, a.telefone AS telefone " +
+            "FROM Animal a")
+    Stream<DadosBusca> streamDadosBusca();
+
+    /**
+     * Projeção com os campos usados pelo índice de busca
+     */
+    interface DadosBusca {
+        Long getId();
+        String getNome();
+        String getNomeDono();
+        String getRaca();
+        String getTelefone();
+    }
+
+    // ========== ESTATÍSTICAS (AGREGAÇÃO NO BANCO) ==========
+
+    /**
+     * Agrupa os animais por tipo (coluna discriminadora), espécie e faixa etária
+     * em uma única query, sem carregar nenhuma entidade.
+     * 
+     * Faixas etárias: FILHOTE (< 1 ano), ADULTO (1 a 7 anos), IDOSO (> 7 anos)
+     */
+    @Query(value = "SELECT a.tipo_animal AS tipo, a.especie AS especie, " +
+            "CASE WHEN a.idade < 1 THEN 'FILHOTE' WHEN a.idade <= 7 THEN 'ADULTO' ELSE 'IDOSO' END AS faixaEtaria, " +
+            "COUNT(*) AS total " +
+            "FROM animais a " +
+            "GROUP BY a.tipo_animal, a.especie, " +
+            "CASE WHEN a.idade < 1 THEN 'FILHOTE' WHEN a.idade <= 7 THEN 'ADULTO' ELSE 'IDOSO' END",
+            nativeQuery = true)
+    List<EstatisticaAnimal> agruparPorTipoEspecieEFaixaEtaria();
+
+    /**
+     * Projeção de uma linha do agrupamento de estatísticas
+     */
+    interface EstatisticaAnimal {
+        String getTipo();
+        String getEspecie();
+        String getFaixaEtaria();
+        Long getTotal();
+    }
 }
\ No newline at end of file
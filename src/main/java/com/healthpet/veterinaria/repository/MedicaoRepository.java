@@ -0,0 +1,77 @@
+package com.healthpet.veterinaria.repository;
+
+import com.healthpet.veterinaria.model.Medicao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MedicaoRepository - Interface de Acesso a Dados
+ * 
+ * Repository para a entidade Medicao (histórico de peso e altura).
+ * Spring Data JPA cria a implementação automaticamente.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Repository
+public interface MedicaoRepository extends JpaRepository<Medicao, Long> {
+
+    /**
+     * Datas da primeira e da última medição do animal (nulas se não houver)
+     */
+    @Query("SELECT MIN(m.dataMedicao) AS primeira, MAX(m.dataMedicao) AS ultima " +
+            "FROM Medicao m WHERE m.animal.id = :animalId")
+    PeriodoMedicoes buscarPeriodo(@Param("animalId") Long animalId);
+
+    /**
+     * Projeção do período com medições
+     */
+    interface PeriodoMedicoes {
+        LocalDateTime getPrimeira();
+        LocalDateTime getUltima();
+    }
+
+    /**
+     * Apaga todo o histórico do animal em um só DELETE (sem carregar as medições)
+     */
+    @Modifying
+    @Query("DELETE FROM Medicao m WHERE m.animal.id = :animalId")
+    int deleteByAnimalId(@Param("animalId") Long animalId);
+
+    // ========== SÉRIE REDUZIDA (AGREGAÇÃO NO BANCO) ==========
+
+    /**
+     * Divide o período [inicio, fim] em intervalos de 'largura' segundos e devolve
+     * mínimo, máximo e média de peso, altura e IMC de cada intervalo com medições.
+     * 
+     * A agregação acontece no banco: anos de histórico viram no máximo uma linha
+     * por intervalo, lidas do índice (animal_id, data_medicao, peso, altura).
+     * IMC = peso / (altura/100)², só para medições com os dois valores.
+     * 
+     * Cada linha: [intervalo, medições, peso mín/máx/média, altura mín/máx/média,
+     * IMC mín/máx/média]. Object[] em vez de projeção por interface: são até
+     * 1000 linhas de 11 colunas, sem criar um proxy por linha.
+     */
+    @Query(value = "SELECT b.intervalo AS intervalo, COUNT(*) AS medicoes, " +
+            "MIN(b.peso) AS pesoMin, MAX(b.peso) AS pesoMax, AVG(b.peso) AS pesoMedia, " +
+            "MIN(b.altura) AS alturaMin, MAX(b.altura) AS alturaMax, AVG(b.altura) AS alturaMedia, " +
+            "MIN(b.imc) AS imcMin, MAX(b.imc) AS imcMax, AVG(b.imc) AS imcMedia " +
+            "FROM (SELECT DATEDIFF('SECOND', :inicio, m.data_medicao) / :largura AS intervalo, " +
+            "m.peso AS peso, m.altura AS altura, " +
+            "CASE WHEN m.altura > 0 THEN m.peso / ((m.altura / 100.0) * (m.altura / 100.0)) END AS imc " +
+            "FROM medicoes m " +
+            "WHERE m.animal_id = :animalId AND m.data_medicao BETWEEN :inicio AND :fim) b " +
+            "GROUP BY b.intervalo " +
+            "ORDER BY b.intervalo",
+            nativeQuery = true)
+    List<Object[]> agruparPorIntervalo(@Param("animalId") Long animalId,
+                                                 @Param("inicio") LocalDateTime inicio,
+                                                 @Param("fim") LocalDateTime fim,
+                                                 @Param("largura") long largura);
+}
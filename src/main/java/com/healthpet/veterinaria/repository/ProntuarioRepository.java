@@ -1,10 +1,15 @@
 package com.healthpet.veterinaria.repository;
 
 import com.healthpet.veterinaria.model.Prontuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * ProntuarioRepository - Interface de Acesso a Dados
@@ -32,4 +37,14 @@ public interface ProntuarioRepository extends JpaRepository <Prontuario, Long> {
      * Deleta prontuário por ID do animal
      */
     void deleteByAnimalId(Long animalId);
+
+    /**
+     * Percorre todos os prontuários ordenados pelo ID do animal (usado na exportação)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Prontuario p ORDER BY p.animal.id")
+    Stream<Prontuario> streamTodosOrdenadosPorAnimal();
 }
\ No newline at end of file
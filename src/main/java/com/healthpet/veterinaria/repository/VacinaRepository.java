@@ -1,13 +1,19 @@
 package com.healthpet.veterinaria.repository;
 
 import com.healthpet.veterinaria.model.Vacina;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * VacinaRepository - Interface de Acesso a Dados
@@ -67,4 +73,86 @@ public interface VacinaRepository extends JpaRepository<Vacina, Long> {
      * Deleta todas as vacinas de um animal
      */
     void deleteByAnimalId(Long animalId);
+
+    // ========== PAGINAÇÃO POR CURSOR (KEYSET) ==========
+
+    /**
+     * Próxima página de todas as vacinas
+     */
+    List<Vacina> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+    /**
+     * Próxima página de vacinas vencidas
+     */
+    @Query("SELECT v FROM Vacina v WHERE v.proximaDose < :hoje AND v.completa = false AND v.id > :id ORDER BY v.id")
+    List<Vacina> findVacinasVencidasAposId(@Param("hoje") LocalDate hoje, @Param("id") Long id, Limit limite);
+
+    /**
+     * Próxima página de vacinas próximas ao vencimento
+     */
+    @Query("SELECT v FROM Vacina v WHERE v.proximaDose BETWEEN :hoje AND :dataLimite AND v.completa = false " +
+            "AND v.id > :id ORDER BY v.id")
+    List<Vacina> findVacinasProximasAposId(@Param("hoje") LocalDate hoje, @Param("dataLimite") LocalDate dataLimite,
+                                          @Param("id") Long id, Limit limite);
+
+    // ========== AQUECIMENTO ==========
+
+    /**
+     * Vacinas de vários animais de uma vez, agrupadas por animal e mais recentes primeiro
+     * (mesma ordem de findByAnimalIdOrderByDataAplicacaoDesc)
+     */
+    @Query("SELECT v FROM Vacina v WHERE v.animal.id IN :animalIds ORDER BY v.animal.id, v.dataAplicacao DESC")
+    List<Vacina> findByAnimalIds(@Param("animalIds") Collection<Long> animalIds);
+
+    // ========== EXPORTAÇÃO (STREAMING) ==========
+
+    /**
+     * Percorre todas as vacinas ordenadas pelo ID do animal (e depois pelo ID da vacina),
+     * na mesma ordem de AnimalRepository.streamTodosOrdenadosPorId()
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT v FROM Vacina v ORDER BY v.animal.id, v.id")
+    Stream<Vacina> streamTodasOrdenadasPorAnimal();
+
+    /**
+     * Conta vacinas vencidas e próximas ao vencimento em uma única query
+     * (mesmos critérios de findVacinasVencidas e findVacinasProximas)
+     */
+    @Query("SELECT " +
+            "SUM(CASE WHEN v.proximaDose < :hoje THEN 1 ELSE 0 END) AS vencidas, " +
+            "SUM(CASE WHEN v.proximaDose BETWEEN :hoje AND :dataLimite THEN 1 ELSE 0 END) AS proximas " +
+            "FROM Vacina v WHERE v.completa = false")
+    ContagemVacinas contarVencidasEProximas(@Param("hoje") LocalDate hoje, @Param("dataLimite") LocalDate dataLimite);
+
+    /**
+     * Projeção com os contadores de vacinas (SUM retorna null se não houver linhas)
+     */
+    interface ContagemVacinas {
+        Long getVencidas();
+        Long getProximas();
+    }
+
+    // ========== AGENDA DE VACINAS ==========
+
+    /**
+     * Percorre as doses pendentes (não completas e com próxima dose) para carregar a AgendaVacinas
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT v.id AS id, v.proximaDose AS proximaDose FROM Vacina v " +
+            "WHERE v.proximaDose IS NOT NULL AND v.completa = false")
+    Stream<DoseAgendada> streamDosesPendentes();
+
+    /**
+     * Projeção com o mínimo necessário para a agenda
+     */
+    interface DoseAgendada {
+        Long getId();
+        LocalDate getProximaDose();
+    }
 }
\ No newline at end of file
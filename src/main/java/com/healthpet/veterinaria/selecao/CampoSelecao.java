@@ -0,0 +1,41 @@
+package com.healthpet.veterinaria.selecao;
+
+import java.util.function.Function;
+
+/**
+ * CampoSelecao - Um campo que pode ser pedido em ?fields=
+ *
+ * Liga o nome do campo no JSON à expressão JPQL que o lê (coluna, TREAT(...) para
+ * campos de subclasse, CASE para o tipo) e a uma conversão opcional do valor lido
+ * (ex.: idade → idade formatada).
+ *
+ * @author Felipe Brito
+ * @version 1.0
+ */
+final class CampoSelecao {
+
+    private final String nome;
+    private final String expressao;
+    private final Function<Object, Object> conversao;
+
+    CampoSelecao(String nome, String expressao, Function<Object, Object> conversao) {
+        this.nome = nome;
+        this.expressao = expressao;
+        this.conversao = conversao;
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    String getExpressao() {
+        return expressao;
+    }
+
+    /**
+     * Valor do campo no JSON a partir do valor lido pela query (null continua null)
+     */
+    Object converter(Object valor) {
+        return valor == null ? null : conversao.apply(valor);
+    }
+}
@@ -0,0 +1,65 @@
+package com.healthpet.veterinaria.selecao;
+
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+import com.healthpet.veterinaria.model.Animal;
+
+/**
+ * CamposSelecao - Campos de Animal, Vacina e Prontuario disponíveis em ?fields=
+ * e inclusões disponíveis em ?include=
+ *
+ * Os nomes são os mesmos do JSON das entidades. Campos calculados a partir de
+ * vários valores (status da vacina, resumo do prontuário) só existem na resposta completa.
+ * Dados clínicos do animal (peso, alergias...): include=prontuario.
+ * Para disponibilizar um novo campo, basta incluí-lo aqui.
+ *
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public final class CamposSelecao {
+
+    public static final TabelaSelecao VACINA = new TabelaSelecao(
+            "Vacina", "v", Tabela.VACINAS, "v.dataAplicacao DESC, v.id DESC")
+            .campo("versao")
+            .campo("animalId", "v.animal.id")
+            .campo("nome")
+            .campo("dataAplicacao")
+            .campo("proximaDose")
+            .campo("lote")
+            .campo("veterinario")
+            .campo("observacoes")
+            .campo("completa");
+
+    public static final TabelaSelecao PRONTUARIO = new TabelaSelecao(
+            "Prontuario", "p", Tabela.PRONTUARIOS, "p.id")
+            .campo("animalId", "p.animal.id")
+            .campo("peso")
+            .campo("altura")
+            .campo("alergias")
+            .campo("medicamentosEmUso")
+            .campo("condicoesPreExistentes")
+            .campo("observacoes")
+            .campo("ultimaAtualizacao")
+            .campo("dataCriacao");
+
+    public static final TabelaSelecao ANIMAL = new TabelaSelecao(
+            "Animal", "a", Tabela.ANIMAIS, "a.id")
+            .campo("versao")
+            .campo("tipoAnimal", "CASE TYPE(a) WHEN Cachorro THEN 'Cachorro' WHEN Gato THEN 'Gato' ELSE 'Animal' END")
+            .campo("nome")
+            .campo("especie")
+            .campo("idade")
+            .campo("idadeFormatada", "a.idade", idade -> Animal.formatarIdade((Double) idade))
+            .campo("nomeDono")
+            .campo("telefone")
+            .campo("raca")
+            // Específicos de Cachorro e Gato (null nos demais tipos)
+            .campo("porte", "TREAT(a AS Cachorro).porte")
+            .campo("pelagem", "TREAT(a AS Gato).pelagem")
+            .campo("temperamento", "TREAT(a AS Gato).temperamento")
+            // Inclusões
+            .incluiUm("prontuario", PRONTUARIO, "LEFT JOIN Prontuario p ON p.animal = a")
+            .incluiVarios("vacinas", VACINA, "v.animal.id");
+
+    private CamposSelecao() {
+    }
+}
@@ -0,0 +1,170 @@
+package com.healthpet.veterinaria.selecao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ConsultaSelecao - Executa uma Selecao montando o JPQL só com as colunas pedidas
+ *
+ * Exemplo: GET /api/animais?fields=nome,porte,prontuario.alergias&include=prontuario
+ *   SELECT a.id, a.nome, TREAT(a AS Cachorro).porte, p.id, p.alergias
+ *   FROM Animal a LEFT JOIN Prontuario p ON p.animal = a ...
+ *
+ * Inclusões 1:N (vacinas) são lidas em uma segunda query pelos IDs da primeira
+ * (em blocos de 1000), só quando pedidas. Nenhuma entidade é carregada no contexto de persistência.
+ *
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Repository
+@Transactional(readOnly = true)
+public class ConsultaSelecao {
+
+    /**
+     * IDs por query das inclusões 1:N (sem limite, a lista toda viraria um IN gigante)
+     */
+    private static final int TAMANHO_BLOCO_IDS = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Registros com id > aposId, ordenados por id (paginação por cursor)
+     *
+     * @param limite máximo de linhas; null = todas
+     */
+    public List<Map<String, Object>> listar(Selecao selecao, long aposId, Integer limite) {
+        String alias = selecao.getTabela().getAlias();
+        return consultar(selecao, alias + ".id > :valor", alias + ".id", aposId, limite);
+    }
+
+    /**
+     * Registro pelo ID (vazio se não existir)
+     */
+    public Optional<Map<String, Object>> buscarPorId(Selecao selecao, Long id) {
+        String alias = selecao.getTabela().getAlias();
+        return consultar(selecao, alias + ".id = :valor", alias + ".id", id, null).stream().findFirst();
+    }
+
+    /**
+     * Registros de um animal (vacinas, prontuário), na ordem padrão da tabela
+     */
+    public List<Map<String, Object>> listarPorAnimal(Selecao selecao, Long animalId) {
+        TabelaSelecao tabela = selecao.getTabela();
+        return consultar(selecao, tabela.getAlias() + ".animal.id = :valor", tabela.getOrdem(), animalId, null);
+    }
+
+    // ========== MONTAGEM DO JPQL ==========
+
+    private List<Map<String, Object>> consultar(Selecao selecao, String condicao, String ordem,
+                                                Object valor, Integer limite) {
+        TabelaSelecao tabela = selecao.getTabela();
+        List<CampoSelecao> colunas = new ArrayList<>(selecao.getCampos());
+        StringBuilder juncoes = new StringBuilder();
+        for (Map.Entry<Inclusao, List<CampoSelecao>> inclusao : selecao.getInclusoes().entrySet()) {
+            if (!inclusao.getKey().isColecao()) {
+                colunas.addAll(inclusao.getValue());
+                juncoes.append(' ').append(inclusao.getKey().juncao());
+            }
+        }
+
+        String jpql = "SELECT " + expressoes(colunas)
+                + " FROM " + tabela.getEntidade() + " " + tabela.getAlias() + juncoes
+                + " WHERE " + condicao
+                + " ORDER BY " + ordem;
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql, Object[].class)
+                .setParameter("valor", valor);
+        if (limite != null) {
+            query.setMaxResults(limite);
+        }
+
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        Map<Long, Map<String, Object>> porId = new HashMap<>();
+        for (Object[] valores : query.getResultList()) {
+            Map<String, Object> linha = new LinkedHashMap<>();
+            int coluna = preencher(linha, selecao.getCampos(), valores, 0);
+            for (Map.Entry<Inclusao, List<CampoSelecao>> inclusao : selecao.getInclusoes().entrySet()) {
+                if (!inclusao.getKey().isColecao()) {
+                    Map<String, Object> relacionado = new LinkedHashMap<>();
+                    coluna = preencher(relacionado, inclusao.getValue(), valores, coluna);
+                    // LEFT JOIN sem correspondente: todas as colunas (inclusive o id) nulas
+                    linha.put(inclusao.getKey().nome(),
+                            relacionado.get(TabelaSelecao.ID) == null ? null : relacionado);
+                }
+            }
+            linhas.add(linha);
+            porId.put(Selecao.id(linha), linha);
+        }
+
+        for (Map.Entry<Inclusao, List<CampoSelecao>> inclusao : selecao.getInclusoes().entrySet()) {
+            if (inclusao.getKey().isColecao()) {
+                incluirColecao(inclusao.getKey(), inclusao.getValue(), porId);
+            }
+        }
+        return linhas;
+    }
+
+    /**
+     * Segunda query: registros relacionados a todos os IDs da primeira, agrupados por ID
+     */
+    private void incluirColecao(Inclusao inclusao, List<CampoSelecao> campos,
+                                Map<Long, Map<String, Object>> porId) {
+        for (Map<String, Object> linha : porId.values()) {
+            linha.put(inclusao.nome(), new ArrayList<Map<String, Object>>());
+        }
+        if (porId.isEmpty()) {
+            return;
+        }
+
+        TabelaSelecao tabela = inclusao.tabela();
+        String jpql = "SELECT " + inclusao.chave() + ", " + expressoes(campos)
+                + " FROM " + tabela.getEntidade() + " " + tabela.getAlias()
+                + " WHERE " + inclusao.chave() + " IN :ids"
+                + " ORDER BY " + tabela.getOrdem();
+        // Cada ID fica em um só bloco, então a ordem dentro de cada lista se mantém
+        List<Long> ids = new ArrayList<>(porId.keySet());
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_BLOCO_IDS) {
+            List<Object[]> resultado = entityManager.createQuery(jpql, Object[].class)
+                    .setParameter("ids", ids.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_IDS, ids.size())))
+                    .getResultList();
+
+            for (Object[] valores : resultado) {
+                Map<String, Object> relacionado = new LinkedHashMap<>();
+                preencher(relacionado, campos, valores, 1);
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> lista = (List<Map<String, Object>>) porId.get((Long) valores[0])
+                        .get(inclusao.nome());
+                lista.add(relacionado);
+            }
+        }
+    }
+
+    private static String expressoes(List<CampoSelecao> campos) {
+        List<String> expressoes = new ArrayList<>(campos.size());
+        for (CampoSelecao campo : campos) {
+            expressoes.add(campo.getExpressao());
+        }
+        return String.join(", ", expressoes);
+    }
+
+    /**
+     * Copia os valores a partir da coluna informada; retorna a próxima coluna
+     */
+    private static int preencher(Map<String, Object> linha, List<CampoSelecao> campos,
+                                 Object[] valores, int coluna) {
+        for (CampoSelecao campo : campos) {
+            linha.put(campo.getNome(), campo.converter(valores[coluna++]));
+        }
+        return coluna;
+    }
+}
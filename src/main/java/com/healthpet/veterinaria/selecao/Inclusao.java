@@ -0,0 +1,22 @@
+package com.healthpet.veterinaria.selecao;
+
+/**
+ * Inclusao - Entidade relacionada que pode ser pedida em ?include=
+ *
+ * - Um (ex.: prontuário do animal): LEFT JOIN na própria query, colunas na mesma linha
+ * - Vários (ex.: vacinas do animal): uma segunda query "chave IN (ids da página)",
+ *   para não multiplicar as linhas (a paginação continua contando animais)
+ *
+ * @param nome   nome no include e no JSON ("prontuario", "vacinas")
+ * @param tabela campos da entidade incluída
+ * @param juncao JOIN em JPQL (só Um; null em Vários)
+ * @param chave  expressão com o ID do registro principal (só Vários; ex.: v.animal.id)
+ * @author Felipe Brito
+ * @version 1.0
+ */
+record Inclusao(String nome, TabelaSelecao tabela, String juncao, String chave) {
+
+    boolean isColecao() {
+        return chave != null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.healthpet.veterinaria.selecao;
+
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selecao - Campos e inclusões pedidos em uma requisição, já validados
+ *
+ * Criada por TabelaSelecao.selecionar e executada por ConsultaSelecao.
+ * Cada linha do resultado é um Map campo → valor, na ordem dos campos pedidos.
+ *
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public final class Selecao {
+
+    private final TabelaSelecao tabela;
+    private final List<CampoSelecao> campos;
+    private final Map<Inclusao, List<CampoSelecao>> inclusoes;
+
+    Selecao(TabelaSelecao tabela, List<CampoSelecao> campos, Map<Inclusao, List<CampoSelecao>> inclusoes) {
+        this.tabela = tabela;
+        this.campos = campos;
+        this.inclusoes = inclusoes;
+    }
+
+    /**
+     * ID de uma linha do resultado (cursor da paginação)
+     */
+    public static Long id(Map<String, Object> linha) {
+        return (Long) linha.get(TabelaSelecao.ID);
+    }
+
+    /**
+     * Tabelas lidas pela consulta, para o ETag da resposta
+     */
+    public Tabela[] tabelas() {
+        Set<Tabela> tabelas = new LinkedHashSet<>();
+        tabelas.add(tabela.getTabela());
+        for (Inclusao inclusao : inclusoes.keySet()) {
+            tabelas.add(inclusao.tabela().getTabela());
+        }
+        return tabelas.toArray(new Tabela[0]);
+    }
+
+    // ========== GETTERS ==========
+
+    TabelaSelecao getTabela() {
+        return tabela;
+    }
+
+    List<CampoSelecao> getCampos() {
+        return campos;
+    }
+
+    Map<Inclusao, List<CampoSelecao>> getInclusoes() {
+        return inclusoes;
+    }
+}
@@ -0,0 +1,173 @@
+package com.healthpet.veterinaria.selecao;
+
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * TabelaSelecao - Campos de uma entidade que podem ser pedidos em ?fields= e ?include=
+ *
+ * Montada uma vez por entidade (ver CamposSelecao). Cada requisição é resolvida contra
+ * a tabela (selecionar): só nomes conhecidos viram colunas do SELECT, então o JPQL
+ * gerado nunca contém texto vindo do cliente.
+ *
+ * O "id" é sempre selecionado (paginação e associação com as inclusões).
+ *
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public final class TabelaSelecao {
+
+    static final String ID = "id";
+
+    private final String entidade;
+    private final String alias;
+    private final Tabela tabela;
+    private final String ordem;
+    private final Map<String, CampoSelecao> campos = new LinkedHashMap<>();
+    private final Map<String, Inclusao> inclusoes = new LinkedHashMap<>();
+
+    /**
+     * @param entidade nome da entidade no JPQL (ex.: Animal)
+     * @param alias    alias usado nas expressões dos campos (ex.: a)
+     * @param tabela   tabela lida (ETag da resposta)
+     * @param ordem    ORDER BY das listagens sem paginação (ex.: v.dataAplicacao DESC, v.id DESC)
+     */
+    public TabelaSelecao(String entidade, String alias, Tabela tabela, String ordem) {
+        this.entidade = entidade;
+        this.alias = alias;
+        this.tabela = tabela;
+        this.ordem = ordem;
+        campo(ID);
+    }
+
+    // ========== MONTAGEM ==========
+
+    /**
+     * Campo lido direto do atributo de mesmo nome
+     */
+    public TabelaSelecao campo(String nome) {
+        return campo(nome, alias + "." + nome);
+    }
+
+    public TabelaSelecao campo(String nome, String expressao) {
+        return campo(nome, expressao, Function.identity());
+    }
+
+    public TabelaSelecao campo(String nome, String expressao, Function<Object, Object> conversao) {
+        campos.put(nome, new CampoSelecao(nome, expressao, conversao));
+        return this;
+    }
+
+    /**
+     * Entidade relacionada 1:1, lida na mesma query (LEFT JOIN)
+     */
+    public TabelaSelecao incluiUm(String nome, TabelaSelecao relacionada, String juncao) {
+        inclusoes.put(nome, new Inclusao(nome, relacionada, juncao, null));
+        return this;
+    }
+
+    /**
+     * Entidade relacionada 1:N, lida em uma segunda query pela chave (ex.: v.animal.id)
+     */
+    public TabelaSelecao incluiVarios(String nome, TabelaSelecao relacionada, String chave) {
+        inclusoes.put(nome, new Inclusao(nome, relacionada, null, chave));
+        return this;
+    }
+
+    // ========== RESOLUÇÃO ==========
+
+    /**
+     * Resolve os parâmetros da requisição
+     *
+     * @param fields  campos separados por vírgula; "inclusao.campo" para os campos de uma
+     *                inclusão (ex.: nome,idade,vacinas.nome). Sem campos = todos.
+     * @param include inclusões separadas por vírgula (ex.: vacinas,prontuario)
+     * @throws IllegalArgumentException campo ou inclusão desconhecidos
+     */
+    public Selecao selecionar(String fields, String include) {
+        Map<Inclusao, List<String>> pedidosInclusoes = new LinkedHashMap<>();
+        for (String nome : separar(include)) {
+            Inclusao inclusao = inclusoes.get(nome);
+            if (inclusao == null) {
+                throw new IllegalArgumentException("Inclusão desconhecida: " + nome
+                        + " (disponíveis: " + String.join(", ", inclusoes.keySet()) + ")");
+            }
+            pedidosInclusoes.put(inclusao, new ArrayList<>());
+        }
+
+        List<String> pedidos = new ArrayList<>();
+        for (String nome : separar(fields)) {
+            int ponto = nome.indexOf('.');
+            if (ponto < 0) {
+                pedidos.add(nome);
+                continue;
+            }
+            String prefixo = nome.substring(0, ponto);
+            List<String> pedidosInclusao = pedidosInclusoes.get(inclusoes.get(prefixo));
+            if (pedidosInclusao == null) {
+                throw new IllegalArgumentException("Campo " + nome + " exige include=" + prefixo);
+            }
+            pedidosInclusao.add(nome.substring(ponto + 1));
+        }
+
+        Map<Inclusao, List<CampoSelecao>> camposInclusoes = new LinkedHashMap<>();
+        for (Map.Entry<Inclusao, List<String>> pedido : pedidosInclusoes.entrySet()) {
+            camposInclusoes.put(pedido.getKey(), pedido.getKey().tabela().resolver(pedido.getValue()));
+        }
+        return new Selecao(this, resolver(pedidos), camposInclusoes);
+    }
+
+    /**
+     * Campos pedidos, na ordem pedida e sempre começando pelo id (nenhum = todos)
+     */
+    List<CampoSelecao> resolver(List<String> nomes) {
+        if (nomes.isEmpty()) {
+            return new ArrayList<>(campos.values());
+        }
+        Map<String, CampoSelecao> resolvidos = new LinkedHashMap<>();
+        resolvidos.put(ID, campos.get(ID));
+        for (String nome : nomes) {
+            CampoSelecao campo = campos.get(nome);
+            if (campo == null) {
+                throw new IllegalArgumentException("Campo desconhecido: " + nome
+                        + " (disponíveis: " + String.join(", ", campos.keySet()) + ")");
+            }
+            resolvidos.putIfAbsent(nome, campo);
+        }
+        return new ArrayList<>(resolvidos.values());
+    }
+
+    private static List<String> separar(String lista) {
+        if (lista == null || lista.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(lista.split(","))
+                .map(String::trim)
+                .filter(nome -> !nome.isEmpty())
+                .toList();
+    }
+
+    // ========== GETTERS ==========
+
+    String getEntidade() {
+        return entidade;
+    }
+
+    String getAlias() {
+        return alias;
+    }
+
+    Tabela getTabela() {
+        return tabela;
+    }
+
+    String getOrdem() {
+        return ordem;
+    }
+}
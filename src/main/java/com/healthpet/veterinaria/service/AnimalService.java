@@ -1,16 +1,53 @@
 package com.healthpet.veterinaria.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthpet.veterinaria.atualizacao.CamposAnimal;
+import com.healthpet.veterinaria.atualizacao.CamposProntuario;
+import com.healthpet.veterinaria.atualizacao.Patch;
+import com.healthpet.veterinaria.busca.IndiceBuscaAnimais;
+import com.healthpet.veterinaria.config.CacheConfig;
+import com.healthpet.veterinaria.dto.AnimalResumoDTO;
+import com.healthpet.veterinaria.dto.FichaAnimalDTO;
+import com.healthpet.veterinaria.dto.Pagina;
 import com.healthpet.veterinaria.model.Animal;
 import com.healthpet.veterinaria.model.Cachorro;
 import com.healthpet.veterinaria.model.Gato;
+import com.healthpet.veterinaria.model.Prontuario;
+import com.healthpet.veterinaria.model.Vacina;
 import com.healthpet.veterinaria.repository.AnimalRepository;
+import com.healthpet.veterinaria.repository.ProntuarioRepository;
+import com.healthpet.veterinaria.repository.VacinaRepository;
+import com.healthpet.veterinaria.selecao.ConsultaSelecao;
+import com.healthpet.veterinaria.selecao.Selecao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 
 /**
  * AnimalService - Camada de Serviço (Lógica de Negócio)
@@ -28,6 +65,9 @@ import java.util.Optional;
 @Transactional
 public class AnimalService {
 
+    /** Restrição única sobre o nome em minúsculas (migração V4) */
+    private static final String RESTRICAO_NOME_UNICO = "UK_ANIMAIS_NOME";
+
     /**
      * Injeção de Dependência do Repository
      * @Autowired - Spring injeta automaticamente a implementação
@@ -35,64 +75,193 @@ public class AnimalService {
     @Autowired
     private AnimalRepository animalRepository;
 
+    @Autowired
+    private VacinaRepository vacinaRepository;
+
+    @Autowired
+    private ProntuarioRepository prontuarioRepository;
+
+    @Autowired
+    private MedicaoService medicaoService;
+
+    @Autowired
+    private Paginacao paginacao;
+
+    @Autowired
+    private IndiceBuscaAnimais indiceBusca;
+
+    @Autowired
+    private ControleVersao controleVersao;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ConsultaSelecao consultaSelecao;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${healthpet.busca.max-resultados:100}")
+    private int maxResultadosBusca;
+
     // ========== OPERAÇÕES CRUD ==========
 
     /**
-     * CREATE - Cadastra um novo animal
+     * CREATE - Cadastra um novo animal a partir do JSON recebido
+     * @throws NomeDuplicadoException se já existe animal com o mesmo nome
      */
-    public Animal cadastrarAnimal(Animal animal) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ANIMAIS, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfig.PRONTUARIOS, key = "#result.id")
+    })
+    public Animal cadastrarAnimal(JsonNode dados) {
+        Animal animal = ler(dados, Animal.class);
         // Valida a idade antes de salvar
         if (!animal.validarIdade()) {
             throw new IllegalArgumentException("Idade inválida: deve estar entre 0 e 50 anos");
         }
-        
-        // Verifica se já existe animal com o mesmo nome
-        if (animalRepository.existsByNomeIgnoreCase(animal.getNome())) {
-            throw new IllegalArgumentException("Já existe um animal cadastrado com este nome");
-        }
-        
-        return animalRepository.save(animal);
+        return cadastrar(animal, dados);
     }
 
     /**
      * CREATE - Cadastra um cachorro
      */
-    public Cachorro cadastrarCachorro(Cachorro cachorro) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ANIMAIS, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfig.PRONTUARIOS, key = "#result.id")
+    })
+    public Cachorro cadastrarCachorro(JsonNode dados) {
+        Cachorro cachorro = ler(dados, Cachorro.class);
         if (!cachorro.validarIdade()) {
             throw new IllegalArgumentException("Idade inválida");
         }
-        return animalRepository.save(cachorro);
+        return cadastrar(cachorro, dados);
     }
 
     /**
      * CREATE - Cadastra um gato
      */
-    public Gato cadastrarGato(Gato gato) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ANIMAIS, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfig.PRONTUARIOS, key = "#result.id")
+    })
+    public Gato cadastrarGato(JsonNode dados) {
+        Gato gato = ler(dados, Gato.class);
         if (!gato.validarIdade()) {
             throw new IllegalArgumentException("Idade inválida");
         }
-        return animalRepository.save(gato);
+        return cadastrar(gato, dados);
+    }
+
+    /**
+     * Converte o corpo no tipo pedido e aplica a Bean Validation da entidade
+     * @throws IllegalArgumentException corpo inválido ou campo que não passa na validação
+     */
+    private <T extends Animal> T ler(JsonNode dados, Class<T> tipo) {
+        if (dados == null || !dados.isObject()) {
+            throw new IllegalArgumentException("O corpo do cadastro deve ser um objeto JSON");
+        }
+        T animal;
+        try {
+            animal = objectMapper.treeToValue(dados, tipo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Corpo inválido: " + e.getOriginalMessage());
+        }
+
+        List<String> erros = new ArrayList<>();
+        for (ConstraintViolation<T> violacao : validator.validate(animal)) {
+            erros.add(violacao.getMessage());
+        }
+        if (!erros.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", erros));
+        }
+        return animal;
+    }
+
+    /**
+     * Grava o animal e, se o corpo trouxe peso, altura, alergias, medicamentos ou
+     * condições, o prontuário dele (como no PUT/PATCH, ver CamposProntuario)
+     */
+    private <T extends Animal> T cadastrar(T animal, JsonNode dados) {
+        Patch<Prontuario> patchProntuario = CamposProntuario.TABELA.compilar(dados, validator);
+
+        // Nome repetido: o banco recusa (uk_animais_nome), sem consulta prévia
+        T salvo = gravar(animal);
+        if (!patchProntuario.isVazio()) {
+            atualizarProntuario(salvo, patchProntuario);
+        }
+        return salvo;
+    }
+
+    /**
+     * save + flush: a violação do nome único aparece aqui (e não só no commit)
+     * e é traduzida em NomeDuplicadoException
+     */
+    private <T extends Animal> T gravar(T animal) {
+        try {
+            return animalRepository.saveAndFlush(animal);
+        } catch (DataIntegrityViolationException e) {
+            String causa = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (causa.toUpperCase().contains(RESTRICAO_NOME_UNICO)) {
+                throw new NomeDuplicadoException(animal.getNome());
+            }
+            throw e;
+        }
     }
 
     /**
-     * READ - Lista todos os animais
+     * READ - Lista todos os animais (resumo para a listagem)
      */
-    public List<Animal> listarTodos() {
-        return animalRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<AnimalResumoDTO> listarTodos() {
+        return animalRepository.listarResumos(0L, Limit.unlimited());
     }
 
     /**
-     * READ - Busca animal por ID
+     * READ - Busca animal por ID (com cache; "não encontrado" não é guardado, senão um
+     * ID consultado antes de o animal ser importado continuaria 404 até expirar)
      */
+    @Cacheable(cacheNames = CacheConfig.ANIMAIS, key = "#id", unless = "#result == null")
     public Optional<Animal> buscarPorId(Long id) {
         return animalRepository.findById(id);
     }
 
     /**
-     * READ - Busca animais por nome (parcial)
+     * READ - Ficha completa (animal + prontuário + vacinas) em uma ida ao banco
+     */
+    @Transactional(readOnly = true)
+    public Optional<FichaAnimalDTO> buscarFicha(Long id) {
+        List<Object[]> linhas = animalRepository.buscarFicha(id);
+        if (linhas.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Animal animal = (Animal) linhas.get(0)[0];
+        Prontuario prontuario = (Prontuario) linhas.get(0)[1];
+        Map<Long, Vacina> vacinas = new LinkedHashMap<>();
+        for (Object[] linha : linhas) {
+            Vacina vacina = (Vacina) linha[2];
+            if (vacina != null) {
+                vacinas.putIfAbsent(vacina.getId(), vacina);
+            }
+        }
+        return Optional.of(new FichaAnimalDTO(animal, prontuario, new ArrayList<>(vacinas.values())));
+    }
+
+    /**
+     * READ - Busca animais por nome (prefixo, parcial ou aproximado), por relevância
+     * Usa o índice em memória; enquanto ele carrega, usa LIKE no banco
      */
-    public List<Animal> buscarPorNome(String nome) {
-        return animalRepository.findByNomeContainingIgnoreCase(nome);
+    @Transactional(readOnly = true)
+    public List<AnimalResumoDTO> buscarPorNome(String nome) {
+        if (!indiceBusca.isPronto()) {
+            return animalRepository.listarResumosPorNome(nome, 0L, Limit.unlimited());
+        }
+        return buscarNoIndice(nome, EnumSet.of(IndiceBuscaAnimais.Campo.NOME));
     }
 
     /**
@@ -105,15 +274,55 @@ public class AnimalService {
     /**
      * READ - Busca animais por espécie
      */
-    public List<Animal> buscarPorEspecie(String especie) {
-        return animalRepository.findByEspecieIgnoreCase(especie);
+    @Transactional(readOnly = true)
+    public List<AnimalResumoDTO> buscarPorEspecie(String especie) {
+        return animalRepository.listarResumosPorEspecie(especie, 0L, Limit.unlimited());
+    }
+
+    /**
+     * READ - Busca animais por dono (prefixo, parcial ou aproximado), por relevância
+     */
+    @Transactional(readOnly = true)
+    public List<AnimalResumoDTO> buscarPorDono(String nomeDono) {
+        if (!indiceBusca.isPronto()) {
+            return animalRepository.listarResumosPorDono(nomeDono, 0L, Limit.unlimited());
+        }
+        return buscarNoIndice(nomeDono, EnumSet.of(IndiceBuscaAnimais.Campo.NOME_DONO));
+    }
+
+    /**
+     * READ - Pesquisa geral em nome, dono, raça e telefone, por relevância
+     */
+    @Transactional(readOnly = true)
+    public List<AnimalResumoDTO> pesquisar(String termo) {
+        if (!indiceBusca.isPronto()) {
+            return animalRepository.listarResumosPorTermo(termo, 0L, Limit.unlimited());
+        }
+        return buscarNoIndice(termo, EnumSet.allOf(IndiceBuscaAnimais.Campo.class));
     }
 
     /**
-     * READ - Busca animais por dono
+     * Consulta o índice e carrega o resumo dos animais encontrados em uma única query,
+     * mantendo a ordem de relevância
      */
-    public List<Animal> buscarPorDono(String nomeDono) {
-        return animalRepository.findByNomeDonoContainingIgnoreCase(nomeDono);
+    private List<AnimalResumoDTO> buscarNoIndice(String termo, EnumSet<IndiceBuscaAnimais.Campo> campos) {
+        List<Long> ids = indiceBusca.buscar(termo, campos, maxResultadosBusca);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, AnimalResumoDTO> porId = new HashMap<>();
+        for (AnimalResumoDTO animal : animalRepository.listarResumosPorIds(ids)) {
+            porId.put(animal.id(), animal);
+        }
+
+        List<AnimalResumoDTO> resultado = new ArrayList<>();
+        for (Long id : ids) {
+            AnimalResumoDTO animal = porId.get(id);
+            if (animal != null) {
+                resultado.add(animal);
+            }
+        }
+        return resultado;
     }
 
     /**
@@ -126,15 +335,17 @@ public class AnimalService {
     /**
      * READ - Lista apenas cachorros
      */
-    public List<Animal> listarCachorros() {
-        return animalRepository.findByTipo(Cachorro.class);
+    @Transactional(readOnly = true)
+    public List<AnimalResumoDTO> listarCachorros() {
+        return animalRepository.listarResumosPorTipo(Cachorro.class, 0L, Limit.unlimited());
     }
 
     /**
      * READ - Lista apenas gatos
      */
-    public List<Animal> listarGatos() {
-        return animalRepository.findByTipo(Gato.class);
+    @Transactional(readOnly = true)
+    public List<AnimalResumoDTO> listarGatos() {
+        return animalRepository.listarResumosPorTipo(Gato.class, 0L, Limit.unlimited());
     }
 
     /**
@@ -151,18 +362,93 @@ public class AnimalService {
         return animalRepository.findAllByOrderByIdadeDesc();
     }
 
+    // ========== LEITURAS PAGINADAS (CURSOR) ==========
+
+    /**
+     * READ - Página de todos os animais
+     */
+    @Transactional(readOnly = true)
+    public Pagina<AnimalResumoDTO> listarTodos(String cursor, Integer limite) {
+        int tamanho = paginacao.tamanho(limite);
+        List<AnimalResumoDTO> linhas = animalRepository.listarResumos(
+                paginacao.aposId(cursor), paginacao.consulta(tamanho));
+        return paginacao.montar(linhas, tamanho, AnimalResumoDTO::id);
+    }
+
+    /**
+     * READ - Página da busca por nome (parcial)
+     */
+    @Transactional(readOnly = true)
+    public Pagina<AnimalResumoDTO> buscarPorNome(String nome, String cursor, Integer limite) {
+        int tamanho = paginacao.tamanho(limite);
+        List<AnimalResumoDTO> linhas = animalRepository.listarResumosPorNome(
+                nome, paginacao.aposId(cursor), paginacao.consulta(tamanho));
+        return paginacao.montar(linhas, tamanho, AnimalResumoDTO::id);
+    }
+
+    /**
+     * READ - Página da busca por espécie
+     */
+    @Transactional(readOnly = true)
+    public Pagina<AnimalResumoDTO> buscarPorEspecie(String especie, String cursor, Integer limite) {
+        int tamanho = paginacao.tamanho(limite);
+        List<AnimalResumoDTO> linhas = animalRepository.listarResumosPorEspecie(
+                especie, paginacao.aposId(cursor), paginacao.consulta(tamanho));
+        return paginacao.montar(linhas, tamanho, AnimalResumoDTO::id);
+    }
+
+    /**
+     * READ - Página da busca por dono
+     */
+    @Transactional(readOnly = true)
+    public Pagina<AnimalResumoDTO> buscarPorDono(String nomeDono, String cursor, Integer limite) {
+        int tamanho = paginacao.tamanho(limite);
+        List<AnimalResumoDTO> linhas = animalRepository.listarResumosPorDono(
+                nomeDono, paginacao.aposId(cursor), paginacao.consulta(tamanho));
+        return paginacao.montar(linhas, tamanho, AnimalResumoDTO::id);
+    }
+
+    /**
+     * READ - Página de cachorros
+     */
+    @Transactional(readOnly = true)
+    public Pagina<AnimalResumoDTO> listarCachorros(String cursor, Integer limite) {
+        return listarPorTipo(Cachorro.class, cursor, limite);
+    }
+
+    /**
+     * READ - Página de gatos
+     */
+    @Transactional(readOnly = true)
+    public Pagina<AnimalResumoDTO> listarGatos(String cursor, Integer limite) {
+        return listarPorTipo(Gato.class, cursor, limite);
+    }
+
+    private Pagina<AnimalResumoDTO> listarPorTipo(Class<? extends Animal> tipo, String cursor, Integer limite) {
+        int tamanho = paginacao.tamanho(limite);
+        List<AnimalResumoDTO> linhas = animalRepository.listarResumosPorTipo(
+                tipo, paginacao.aposId(cursor), paginacao.consulta(tamanho));
+        return paginacao.montar(linhas, tamanho, AnimalResumoDTO::id);
+    }
+
     /**
      * UPDATE - Atualiza dados de um animal (método legado)
+     * A versão que veio no animal (se houver) é conferida como no If-Match
      */
+    @CacheEvict(cacheNames = CacheConfig.ANIMAIS, key = "#id")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Animal atualizarAnimal(Long id, Animal animalAtualizado) {
-        Optional<Animal> animalExistente = animalRepository.findById(id);
-        
-        if (animalExistente.isEmpty()) {
-            throw new IllegalArgumentException("Animal não encontrado com ID: " + id);
-        }
-        
-        Animal animal = animalExistente.get();
-        
+        return atualizarComVersao(id, animalAtualizado.getVersao(), animal -> {
+            Map<String, Object> antes = controleVersao.capturar(animal);
+            aplicarNaoNulos(animal, animalAtualizado);
+            return controleVersao.alterados(antes, animal);
+        });
+    }
+
+    /**
+     * Copia para o animal os campos não nulos recebidos
+     */
+    private void aplicarNaoNulos(Animal animal, Animal animalAtualizado) {
         // Atualiza apenas os campos que não são nulos
         if (animalAtualizado.getNome() != null) {
             animal.setNome(animalAtualizado.getNome());
@@ -206,88 +492,106 @@ public class AnimalService {
                 gato.setTemperamento(gatoAtualizado.getTemperamento());
             }
         }
-        
-        return animalRepository.save(animal);
     }
 
     /**
-     * UPDATE - Atualiza dados de um animal usando Map genérico (NOVO!)
-     * Funciona perfeitamente com o frontend que envia JSON
+     * UPDATE - Atualiza dados de um animal a partir do JSON recebido (JSON Merge Patch)
+     * Funciona para Animal, Cachorro e Gato: só os campos presentes são alterados,
+     * null limpa o campo. Ver CamposAnimal.
+     * Peso, altura, alergias, medicamentos e condições vão para o prontuário do animal.
+     * 
+     * versaoEsperada = versão que o cliente leu (If-Match); nula = sem verificação.
+     * Roda fora da transação da classe para que ControleVersao possa repetir a
+     * alteração em uma transação nova quando o UPDATE perde para outro concorrente.
      */
-    public Animal atualizarAnimalGenerico(Long id, Map<String, Object> dados) {
-        Optional<Animal> animalExistente = animalRepository.findById(id);
-        
-        if (animalExistente.isEmpty()) {
-            throw new IllegalArgumentException("Animal não encontrado com ID: " + id);
-        }
-        
-        Animal animal = animalExistente.get();
-        
-        // Atualiza campos básicos
-        if (dados.containsKey("nome")) {
-            animal.setNome((String) dados.get("nome"));
-        }
-        if (dados.containsKey("especie")) {
-            animal.setEspecie((String) dados.get("especie"));
-        }
-        if (dados.containsKey("idade")) {
-            Double idade = ((Number) dados.get("idade")).doubleValue();
-            animal.setIdade(idade);
-        }
-        if (dados.containsKey("nomeDono")) {
-            animal.setNomeDono((String) dados.get("nomeDono"));
-        }
-        if (dados.containsKey("telefone")) {
-            animal.setTelefone((String) dados.get("telefone"));
-        }
-        if (dados.containsKey("raca")) {
-            animal.setRaca((String) dados.get("raca"));
-        }
-        if (dados.containsKey("peso")) {
-            animal.setPeso(((Number) dados.get("peso")).doubleValue());
-        }
-        if (dados.containsKey("altura")) {
-            animal.setAltura(((Number) dados.get("altura")).doubleValue());
-        }
-        if (dados.containsKey("alergias")) {
-            animal.setAlergias((String) dados.get("alergias"));
-        }
-        if (dados.containsKey("medicamentosEmUso")) {
-            animal.setMedicamentosEmUso((String) dados.get("medicamentosEmUso"));
-        }
-        if (dados.containsKey("condicoesPreExistentes")) {
-            animal.setCondicoesPreExistentes((String) dados.get("condicoesPreExistentes"));
-        }
-        
-        // Atualiza campos específicos de Cachorro
-        if (animal instanceof Cachorro) {
-            Cachorro cachorro = (Cachorro) animal;
-            if (dados.containsKey("porte")) {
-                cachorro.setPorte((String) dados.get("porte"));
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ANIMAIS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRONTUARIOS, key = "#id")
+    })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Animal atualizarAnimalGenerico(Long id, JsonNode dados, Long versaoEsperada) {
+        // Lido e validado uma vez, antes de abrir transação; aplicado a cada tentativa
+        Patch<Animal> patch = CamposAnimal.TABELA.compilar(dados, validator);
+        Patch<Prontuario> patchProntuario = CamposProntuario.TABELA.compilar(dados, validator);
+        return atualizarComVersao(id, versaoEsperada, animal -> {
+            // Os campos clínicos também contam na verificação do If-Match; se ela falhar,
+            // a transação é desfeita e o prontuário não é gravado
+            Set<String> alterados = new TreeSet<>(patch.aplicar(animal));
+            if (!patchProntuario.isVazio()) {
+                alterados.addAll(atualizarProntuario(animal, patchProntuario));
             }
+            return alterados;
+        });
+    }
+
+    /**
+     * Grava os dados clínicos recebidos no prontuário do animal (na mesma transação);
+     * peso ou altura alterados entram no histórico de medições
+     * 
+     * @return campos do prontuário que mudaram
+     */
+    private Set<String> atualizarProntuario(Animal animal, Patch<Prontuario> patch) {
+        Prontuario prontuario = prontuarioRepository.findByAnimalId(animal.getId())
+                .orElseGet(() -> new Prontuario(animal));
+        Set<String> alterados = patch.aplicar(prontuario);
+        if (alterados.contains("peso") || alterados.contains("altura")) {
+            medicaoService.registrar(prontuario);
         }
-        
-        // Atualiza campos específicos de Gato
-        if (animal instanceof Gato) {
-            Gato gato = (Gato) animal;
-            if (dados.containsKey("pelagem")) {
-                gato.setPelagem((String) dados.get("pelagem"));
+        if (!alterados.isEmpty()) {
+            prontuarioRepository.save(prontuario);
+        }
+        return alterados;
+    }
+
+    /**
+     * Lê o animal, aplica a alteração (que devolve os campos alterados) e grava
+     * conferindo a versão (ver ControleVersao)
+     * Repetido do zero, em transação nova, se outro UPDATE ganhar a corrida
+     */
+    private Animal atualizarComVersao(Long id, Long versaoEsperada, Function<Animal, Set<String>> alteracao) {
+        return controleVersao.executar(() -> {
+            Animal animal = animalRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Animal não encontrado com ID: " + id));
+
+            Set<String> alterados = alteracao.apply(animal);
+            if (alterados.isEmpty()) {
+                return animal;
             }
-            if (dados.containsKey("temperamento")) {
-                gato.setTemperamento((String) dados.get("temperamento"));
+
+            Long versaoLida = animal.getVersao();
+            controleVersao.verificar("Animal", id, versaoLida, versaoEsperada, alterados);
+            Animal salvo = gravar(animal);
+            if (versaoLida.equals(salvo.getVersao())) {
+                // Só o prontuário mudou: a versão do animal avança mesmo assim, para o
+                // If-Match de quem leu antes também valer para os dados clínicos
+                entityManager.lock(salvo, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
             }
-        }
-        
-        return animalRepository.save(animal);
+            controleVersao.registrar("Animal", id, salvo.getVersao(), alterados);
+            return salvo;
+        });
     }
 
     /**
-     * DELETE - Remove um animal
+     * DELETE - Remove um animal, as vacinas, o prontuário e o histórico de medições dele
+     * (e o que estiver em cache sobre ele)
+     * 
+     * Tudo na mesma transação. Vacinas e prontuário são removidos um a um pelo JPA, antes
+     * do animal (chaves estrangeiras), para a agenda de vacinas, o contador de
+     * alterações e o diário de auditoria verem cada remoção. As medições, que podem
+     * ser anos de histórico, saem em um DELETE só (ver MedicaoService).
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.ANIMAIS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRONTUARIOS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.VACINAS_POR_ANIMAL, key = "#id")
+    })
     public void removerAnimal(Long id) {
         if (!animalRepository.existsById(id)) {
             throw new IllegalArgumentException("Animal não encontrado com ID: " + id);
         }
+        medicaoService.removerHistorico(id);
+        vacinaRepository.deleteByAnimalId(id);
+        prontuarioRepository.deleteByAnimalId(id);
         animalRepository.deleteById(id);
     }
 
@@ -305,10 +609,79 @@ public class AnimalService {
         return animalRepository.countByEspecie(especie);
     }
 
+    /**
+     * Estatísticas gerais da clínica calculadas por agregação no banco
+     * 
+     * Usa uma query GROUP BY para os animais e uma para as vacinas,
+     * sem carregar nenhuma entidade na memória.
+     * 
+     * Retorna: total, cachorros, gatos, outros, porTipo, porEspecie,
+     * porFaixaEtaria, vacinasVencidas e vacinasProximas
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> obterEstatisticas() {
+        long total = 0;
+        Map<String, Long> porTipo = new HashMap<>();
+        Map<String, Long> porEspecie = new HashMap<>();
+        Map<String, Long> porFaixaEtaria = new HashMap<>();
+
+        for (AnimalRepository.EstatisticaAnimal linha : animalRepository.agruparPorTipoEspecieEFaixaEtaria()) {
+            long quantidade = linha.getTotal();
+            total += quantidade;
+            porTipo.merge(linha.getTipo(), quantidade, Long::sum);
+            porEspecie.merge(linha.getEspecie(), quantidade, Long::sum);
+            porFaixaEtaria.merge(linha.getFaixaEtaria(), quantidade, Long::sum);
+        }
+
+        LocalDate hoje = LocalDate.now();
+        VacinaRepository.ContagemVacinas vacinas = vacinaRepository.contarVencidasEProximas(hoje, hoje.plusDays(7));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", total);
+        stats.put("cachorros", porTipo.getOrDefault("CACHORRO", 0L));
+        stats.put("gatos", porTipo.getOrDefault("GATO", 0L));
+        stats.put("outros", porTipo.getOrDefault("ANIMAL", 0L));
+        stats.put("porTipo", porTipo);
+        stats.put("porEspecie", porEspecie);
+        stats.put("porFaixaEtaria", porFaixaEtaria);
+        stats.put("vacinasVencidas", vacinas.getVencidas() != null ? vacinas.getVencidas() : 0L);
+        stats.put("vacinasProximas", vacinas.getProximas() != null ? vacinas.getProximas() : 0L);
+        return stats;
+    }
+
     /**
      * Verifica se existe animal com determinado nome
      */
     public boolean existePorNome(String nome) {
         return animalRepository.existsByNomeIgnoreCase(nome);
     }
-}
\ No newline at end of file
+
+    // ========== CAMPOS SELECIONADOS (?fields= / ?include=) ==========
+
+    /**
+     * READ - Todos os animais, só com os campos e inclusões pedidos
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listarTodos(Selecao selecao) {
+        return consultaSelecao.listar(selecao, 0L, null);
+    }
+
+    /**
+     * READ - Página de todos os animais, só com os campos e inclusões pedidos
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Map<String, Object>> listarTodos(Selecao selecao, String cursor, Integer limite) {
+        int tamanho = paginacao.tamanho(limite);
+        List<Map<String, Object>> linhas = consultaSelecao.listar(
+                selecao, paginacao.aposId(cursor), paginacao.consulta(tamanho).max());
+        return paginacao.montar(linhas, tamanho, Selecao::id);
+    }
+
+    /**
+     * READ - Animal por ID, só com os campos e inclusões pedidos (sem cache)
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> buscarPorId(Long id, Selecao selecao) {
+        return consultaSelecao.buscarPorId(selecao, id);
+    }
+}
@@ -0,0 +1,126 @@
+package com.healthpet.veterinaria.service;
+
+import com.healthpet.veterinaria.agenda.AgendaVacinas;
+import com.healthpet.veterinaria.busca.IndiceBuscaAnimais;
+import com.healthpet.veterinaria.config.CacheConfig;
+import com.healthpet.veterinaria.model.Animal;
+import com.healthpet.veterinaria.model.Vacina;
+import com.healthpet.veterinaria.repository.AnimalRepository;
+import com.healthpet.veterinaria.repository.VacinaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * AquecimentoService - Prepara a aplicação antes de receber tráfego
+ * 
+ * Roda ao iniciar, em paralelo:
+ * - monta o índice de busca de animais (IndiceBuscaAnimais)
+ * - carrega a agenda de vacinas pendentes (AgendaVacinas)
+ * - pré-carrega no cache os animais mais recentes e as vacinas deles
+ * 
+ * Além de encher as estruturas em memória, isso lê do disco as páginas mais usadas
+ * das tabelas (banco em arquivo) e compila as queries principais no Hibernate.
+ * 
+ * O Spring só marca a aplicação como pronta (/actuator/health/readiness = UP) depois
+ * que os listeners de ApplicationReadyEvent terminam, então um balanceador que use
+ * esse endpoint só manda tráfego com o aquecimento concluído.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Service
+public class AquecimentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(AquecimentoService.class);
+
+    @Autowired
+    private IndiceBuscaAnimais indiceBusca;
+
+    @Autowired
+    private AgendaVacinas agenda;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private VacinaRepository vacinaRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Quantos animais (os de cadastro mais recente) entram no cache ao iniciar
+     */
+    @Value("${healthpet.aquecimento.animais:500}")
+    private int animaisPreCarregados;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        long inicio = System.currentTimeMillis();
+        try {
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(indiceBusca::carregar),
+                    CompletableFuture.runAsync(agenda::carregar),
+                    CompletableFuture.runAsync(this::preCarregarCache)
+            ).join();
+        } catch (Exception e) {
+            // As estruturas que não carregaram ficam "não prontas" e os services usam o banco
+            log.error("Falha no aquecimento; seguindo sem as estruturas que não carregaram", e);
+        }
+
+        log.info("Aquecimento concluído em {} ms", System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Coloca no cache os animais mais recentes (cache 'animais') e as vacinas
+     * de cada um (cache 'vacinasPorAnimal'), com duas queries no total
+     */
+    private void preCarregarCache() {
+        if (animaisPreCarregados <= 0) {
+            return;
+        }
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        leitura.executeWithoutResult(status -> {
+            List<Animal> animais = animalRepository.findAllByOrderByIdDesc(Limit.of(animaisPreCarregados));
+            if (animais.isEmpty()) {
+                return;
+            }
+
+            Map<Long, List<Vacina>> vacinasPorAnimal = new LinkedHashMap<>();
+            for (Animal animal : animais) {
+                vacinasPorAnimal.put(animal.getId(), new ArrayList<>());
+            }
+            for (Vacina vacina : vacinaRepository.findByAnimalIds(vacinasPorAnimal.keySet())) {
+                vacinasPorAnimal.get(vacina.getAnimal().getId()).add(vacina);
+            }
+
+            Cache cacheAnimais = cacheManager.getCache(CacheConfig.ANIMAIS);
+            Cache cacheVacinas = cacheManager.getCache(CacheConfig.VACINAS_POR_ANIMAL);
+            for (Animal animal : animais) {
+                cacheAnimais.putIfAbsent(animal.getId(), animal);
+                cacheVacinas.putIfAbsent(animal.getId(), vacinasPorAnimal.get(animal.getId()));
+            }
+            log.info("Cache pré-carregado com {} animais", animais.size());
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.healthpet.veterinaria.service;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+import com.healthpet.veterinaria.auditoria.DiarioAuditoria;
+import com.healthpet.veterinaria.auditoria.RegistroAuditoria;
+import com.healthpet.veterinaria.auditoria.RepositorioAuditoria;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * AuditoriaService - Consultas ao diário de auditoria
+ * 
+ * Reconstrói um animal, vacina ou prontuário como estava em qualquer instante:
+ * parte da última entrada completa até aquele instante e aplica as diferenças seguintes.
+ * 
+ * Antes de ler, grava o que ainda estiver na fila do DiarioAuditoria, para que
+ * as alterações recém-confirmadas já apareçam.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Service
+public class AuditoriaService {
+
+    @Autowired
+    private DiarioAuditoria diario;
+
+    @Autowired
+    private RepositorioAuditoria repositorio;
+
+    /**
+     * Registro como estava no instante informado (null = agora);
+     * vazio se ainda não existia ou já tinha sido removido
+     */
+    public Optional<ObjectNode> reconstruir(Tabela tabela, Long id, LocalDateTime em) {
+        diario.gravarPendentes();
+        List<RegistroAuditoria> registros = repositorio.buscarDesdeUltimoCompleto(
+                tabela, id, (em != null) ? em : LocalDateTime.now());
+        return Optional.ofNullable(RegistroAuditoria.reconstruir(registros));
+    }
+
+    /**
+     * Todas as entradas do registro, em ordem
+     */
+    public List<RegistroAuditoria> listarHistorico(Tabela tabela, Long id) {
+        diario.gravarPendentes();
+        return repositorio.listar(tabela, id);
+    }
+
+    /**
+     * Tabela auditada a partir do nome usado na URL (animais, vacinas, prontuarios)
+     * 
+     * @throws IllegalArgumentException para qualquer outro nome
+     */
+    public Tabela tabela(String nome) {
+        for (Tabela tabela : List.of(Tabela.ANIMAIS, Tabela.VACINAS, Tabela.PRONTUARIOS)) {
+            if (tabela.name().equalsIgnoreCase(nome)) {
+                return tabela;
+            }
+        }
+        throw new IllegalArgumentException("Tabela sem auditoria: " + nome + " (use animais, vacinas ou prontuarios)");
+    }
+}
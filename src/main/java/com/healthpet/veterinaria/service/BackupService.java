@@ -0,0 +1,95 @@
+package com.healthpet.veterinaria.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * BackupService - Backup do banco H2 em arquivo, com a aplicação rodando
+ * 
+ * Usa o comando BACKUP TO do H2, que gera um .zip consistente sem parar o banco
+ * (as transações continuam durante a cópia). Só faz sentido no modo persistente
+ * (perfil 'persistente'); com o banco em memória o backup é recusado.
+ * 
+ * - Agendado por healthpet.backup.cron (desligado por padrão)
+ * - Manual em POST /api/admin/backup
+ * - Mantém só os healthpet.backup.manter arquivos mais recentes
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Service
+public class BackupService {
+
+    private static final Logger log = LoggerFactory.getLogger(BackupService.class);
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.datasource.url}")
+    private String urlBanco;
+
+    @Value("${healthpet.backup.pasta:./dados/backups}")
+    private String pasta;
+
+    @Value("${healthpet.backup.manter:7}")
+    private int manter;
+
+    /**
+     * Backup agendado (cron "-" = desligado)
+     */
+    @Scheduled(cron = "${healthpet.backup.cron:-}")
+    public void backupAgendado() {
+        try {
+            realizarBackup();
+        } catch (Exception e) {
+            log.error("Falha no backup agendado", e);
+        }
+    }
+
+    /**
+     * Gera um backup e remove os mais antigos; retorna o arquivo gerado
+     */
+    public synchronized File realizarBackup() {
+        if (urlBanco.startsWith("jdbc:h2:mem:")) {
+            throw new IllegalStateException("Backup disponível apenas com o banco em arquivo (perfil persistente)");
+        }
+
+        File diretorio = new File(pasta);
+        diretorio.mkdirs();
+        File arquivo = new File(diretorio, "veterinariadb-" + LocalDateTime.now().format(FORMATO_DATA) + ".zip");
+
+        long inicio = System.currentTimeMillis();
+        jdbcTemplate.execute("BACKUP TO '" + arquivo.getAbsolutePath().replace("'", "''") + "'");
+        log.info("Backup gerado em {} ({} KB, {} ms)", arquivo.getPath(), arquivo.length() / 1024,
+                System.currentTimeMillis() - inicio);
+
+        removerAntigos(diretorio);
+        return arquivo;
+    }
+
+    private void removerAntigos(File diretorio) {
+        File[] backups = diretorio.listFiles((dir, nome) -> nome.startsWith("veterinariadb-") && nome.endsWith(".zip"));
+        if (backups == null || backups.length <= manter) {
+            return;
+        }
+        Arrays.sort(backups, Comparator.comparing(File::getName).reversed());
+        for (int i = manter; i < backups.length; i++) {
+            if (!backups[i].delete()) {
+                log.warn("Não foi possível remover o backup antigo {}", backups[i].getPath());
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.healthpet.veterinaria.service;
+
+import java.util.Set;
+
+/**
+ * ConflitoVersaoException - A alteração partiu de uma versão desatualizada
+ * e não pôde ser mesclada com as alterações feitas depois dela
+ * 
+ * Os controllers respondem 412 (Precondition Failed) com a versão atual.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class ConflitoVersaoException extends RuntimeException {
+
+    /** Nula quando a alteração desistiu após várias atualizações concorrentes */
+    private final Long versaoAtual;
+
+    public ConflitoVersaoException(String entidade, Long versaoAtual, Set<String> camposEmConflito) {
+        super(montarMensagem(entidade, versaoAtual, camposEmConflito));
+        this.versaoAtual = versaoAtual;
+    }
+
+    public Long getVersaoAtual() {
+        return versaoAtual;
+    }
+
+    private static String montarMensagem(String entidade, Long versaoAtual, Set<String> campos) {
+        String mensagem = entidade + " foi alterado(a) por outra pessoa";
+        if (versaoAtual != null) {
+            mensagem += " (versão atual: " + versaoAtual + ")";
+        }
+        if (campos.isEmpty()) {
+            return mensagem + "; recarregue e tente novamente";
+        }
+        return mensagem + "; campos em conflito: " + String.join(", ", campos);
+    }
+}
@@ -0,0 +1,214 @@
+package com.healthpet.veterinaria.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthpet.veterinaria.alteracoes.Transacoes;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.Attribute;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * ControleVersao - Lock otimista com mescla por campo
+ * 
+ * Animal e Vacina têm @Version. Quem edita envia a versão que leu (If-Match) e:
+ * - se ninguém alterou o registro desde então, a alteração é aplicada;
+ * - se outras pessoas alteraram, mas só campos diferentes dos que esta alteração
+ *   muda, as duas alterações são mescladas (a de agora é aplicada sobre a atual);
+ * - se alguém alterou um dos mesmos campos, ConflitoVersaoException (412).
+ * 
+ * Para saber quais campos cada versão alterou, guarda em memória os campos alterados
+ * nas últimas versões de cada registro (registrados após o commit). Sem esse histórico
+ * (registro alterado há muito tempo ou antes de a aplicação iniciar) não há mescla: conflito.
+ * 
+ * Se duas alterações concorrentes passarem pela verificação ao mesmo tempo, o @Version
+ * faz o UPDATE da segunda falhar; ela é repetida (nova transação, nova leitura e nova
+ * verificação) em vez de travar linhas com lock pessimista.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Component
+public class ControleVersao {
+
+    private static final Logger log = LoggerFactory.getLogger(ControleVersao.class);
+
+    /** Versões guardadas por registro */
+    private static final int VERSOES_POR_REGISTRO = 20;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${healthpet.versao.tentativas:5}")
+    private int tentativas;
+
+    /** "Animal:1" → (versão → campos alterados para chegar nela) */
+    private final Cache<String, NavigableMap<Long, Set<String>>> historico = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    // ========== EXECUÇÃO COM TENTATIVAS ==========
+
+    /**
+     * Executa a alteração em uma transação própria, repetindo quando outra transação
+     * atualizou o mesmo registro entre a leitura e o UPDATE
+     */
+    public <T> T executar(Supplier<T> alteracao) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transacao.execute(status -> executarSemBatch(alteracao));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (tentativa >= tentativas) {
+                    String classe = e.getPersistentClassName();
+                    String entidade = classe != null ? classe.substring(classe.lastIndexOf('.') + 1) : "Registro";
+                    throw new ConflitoVersaoException(entidade, null, Collections.emptySet());
+                }
+                log.debug("Atualização concorrente em {}, tentativa {}", e.getPersistentClassName(), tentativa + 1);
+                aguardar(tentativa);
+            }
+        }
+    }
+
+    /**
+     * Executa com o batch JDBC desligado na sessão: o UPDATE que perde para o concorrente
+     * falha sozinho, em vez de derrubar um batch (que o Hibernate registra como ERROR
+     * mesmo quando a alteração é repetida com sucesso)
+     */
+    private <T> T executarSemBatch(Supplier<T> alteracao) {
+        Session sessao = entityManager.unwrap(Session.class);
+        Integer tamanhoBatch = sessao.getJdbcBatchSize();
+        sessao.setJdbcBatchSize(1);
+        try {
+            T resultado = alteracao.get();
+            entityManager.flush();
+            return resultado;
+        } finally {
+            sessao.setJdbcBatchSize(tamanhoBatch);
+        }
+    }
+
+    /**
+     * Espera curta e aleatória antes de repetir, para os concorrentes não colidirem de novo
+     */
+    private void aguardar(int tentativa) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 25L * tentativa + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========== CAMPOS ALTERADOS ==========
+
+    /**
+     * Valores dos campos persistidos da entidade (antes da alteração)
+     */
+    public Map<String, Object> capturar(Object entidade) {
+        BeanWrapper bean = new BeanWrapperImpl(entidade);
+        Map<String, Object> valores = new HashMap<>();
+        for (Attribute<?, ?> atributo : entityManager.getMetamodel().entity(entidade.getClass()).getAttributes()) {
+            if (atributo.isAssociation() || !bean.isReadableProperty(atributo.getName())) {
+                continue;
+            }
+            valores.put(atributo.getName(), bean.getPropertyValue(atributo.getName()));
+        }
+        valores.remove("id");
+        valores.remove("versao");
+        return valores;
+    }
+
+    /**
+     * Campos cujo valor mudou em relação à captura
+     */
+    public Set<String> alterados(Map<String, Object> antes, Object entidade) {
+        Map<String, Object> depois = capturar(entidade);
+        Set<String> campos = new TreeSet<>();
+        for (Map.Entry<String, Object> campo : depois.entrySet()) {
+            if (!Objects.equals(antes.get(campo.getKey()), campo.getValue())) {
+                campos.add(campo.getKey());
+            }
+        }
+        return campos;
+    }
+
+    // ========== VERIFICAÇÃO E HISTÓRICO ==========
+
+    /**
+     * Confere se a alteração (feita a partir de versaoEsperada) pode ser aplicada
+     * sobre a versão atual. versaoEsperada nula = sem If-Match, sempre aplica.
+     */
+    public void verificar(String entidade, Long id, Long versaoAtual, Long versaoEsperada, Set<String> campos) {
+        if (versaoEsperada == null || versaoEsperada.equals(versaoAtual)) {
+            return;
+        }
+        if (versaoEsperada > versaoAtual) {
+            throw new ConflitoVersaoException(entidade, versaoAtual, Collections.emptySet());
+        }
+
+        NavigableMap<Long, Set<String>> versoes = historico.getIfPresent(chave(entidade, id));
+        if (versoes == null) {
+            throw new ConflitoVersaoException(entidade, versaoAtual, Collections.emptySet());
+        }
+
+        Set<String> alteradosDesde = new TreeSet<>();
+        synchronized (versoes) {
+            for (long v = versaoEsperada + 1; v <= versaoAtual; v++) {
+                Set<String> daVersao = versoes.get(v);
+                if (daVersao == null) {
+                    throw new ConflitoVersaoException(entidade, versaoAtual, Collections.emptySet());
+                }
+                alteradosDesde.addAll(daVersao);
+            }
+        }
+
+        alteradosDesde.retainAll(campos);
+        if (!alteradosDesde.isEmpty()) {
+            throw new ConflitoVersaoException(entidade, versaoAtual, alteradosDesde);
+        }
+    }
+
+    /**
+     * Guarda, após o commit, os campos alterados para chegar em novaVersao
+     */
+    public void registrar(String entidade, Long id, Long novaVersao, Set<String> campos) {
+        Runnable registro = () -> {
+            NavigableMap<Long, Set<String>> versoes = historico.get(chave(entidade, id), c -> new TreeMap<>());
+            synchronized (versoes) {
+                versoes.put(novaVersao, Set.copyOf(campos));
+                while (versoes.size() > VERSOES_POR_REGISTRO) {
+                    versoes.pollFirstEntry();
+                }
+            }
+        };
+        Transacoes.aposCommit(registro);
+    }
+
+    private String chave(String entidade, Long id) {
+        return entidade + ":" + id;
+    }
+}
@@ -0,0 +1,137 @@
+package com.healthpet.veterinaria.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.healthpet.veterinaria.model.Animal;
+import com.healthpet.veterinaria.model.Prontuario;
+import com.healthpet.veterinaria.model.Vacina;
+import com.healthpet.veterinaria.repository.AnimalRepository;
+import com.healthpet.veterinaria.repository.ProntuarioRepository;
+import com.healthpet.veterinaria.repository.VacinaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * ExportacaoService - Exportação completa em NDJSON
+ * 
+ * Gera uma linha JSON por animal contendo o animal, suas vacinas e seu prontuário.
+ * 
+ * Os três Streams (animais, vacinas e prontuários) vêm ordenados pelo ID do animal
+ * e são percorridos juntos (merge), então são apenas 3 queries no total e a memória
+ * usada é a de um animal por vez, independente do tamanho do banco.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Service
+public class ExportacaoService {
+
+    private static final byte[] QUEBRA_LINHA = "\n".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private VacinaRepository vacinaRepository;
+
+    @Autowired
+    private ProntuarioRepository prontuarioRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Escreve todos os animais com vacinas e prontuário no formato NDJSON
+     * 
+     * @return quantidade de animais exportados
+     */
+    @Transactional(readOnly = true)
+    public long exportarAnimaisNdjson(OutputStream saida) throws IOException {
+        // Não fecha a saída a cada linha escrita
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long total = 0;
+
+        try (Stream<Animal> animais = animalRepository.streamTodosOrdenadosPorId();
+             Stream<Vacina> vacinas = vacinaRepository.streamTodasOrdenadasPorAnimal();
+             Stream<Prontuario> prontuarios = prontuarioRepository.streamTodosOrdenadosPorAnimal()) {
+
+            Iterator<Vacina> itVacinas = vacinas.iterator();
+            Iterator<Prontuario> itProntuarios = prontuarios.iterator();
+            Vacina vacinaPendente = proximo(itVacinas);
+            Prontuario prontuarioPendente = proximo(itProntuarios);
+
+            Iterator<Animal> itAnimais = animais.iterator();
+            while (itAnimais.hasNext()) {
+                Animal animal = itAnimais.next();
+                Long animalId = animal.getId();
+
+                // Vacinas deste animal (ambos os streams estão ordenados por animal)
+                List<Vacina> vacinasDoAnimal = new ArrayList<>();
+                while (vacinaPendente != null && idDoAnimal(vacinaPendente) <= animalId) {
+                    if (idDoAnimal(vacinaPendente).equals(animalId)) {
+                        vacinasDoAnimal.add(vacinaPendente);
+                    }
+                    vacinaPendente = proximo(itVacinas);
+                }
+
+                Prontuario prontuario = null;
+                while (prontuarioPendente != null && prontuarioPendente.getAnimal().getId() <= animalId) {
+                    if (prontuarioPendente.getAnimal().getId().equals(animalId)) {
+                        prontuario = prontuarioPendente;
+                    }
+                    prontuarioPendente = proximo(itProntuarios);
+                }
+
+                // O animal pode ter sido registrado antes como proxy pelas vacinas/prontuários
+                Map<String, Object> linha = new LinkedHashMap<>();
+                linha.put("animal", Hibernate.unproxy(animal));
+                linha.put("vacinas", vacinasDoAnimal);
+                linha.put("prontuario", prontuario);
+                writer.writeValue(saida, linha);
+                saida.write(QUEBRA_LINHA);
+                total++;
+
+                // Libera as entidades já escritas do contexto de persistência
+                entityManager.detach(animal);
+                vacinasDoAnimal.forEach(entityManager::detach);
+                if (prontuario != null) {
+                    entityManager.detach(prontuario);
+                }
+            }
+        }
+
+        saida.flush();
+        return total;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private <T> T proximo(Iterator<T> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * ID do animal da vacina sem inicializar o proxy LAZY do animal
+     */
+    private Long idDoAnimal(Vacina vacina) {
+        return vacina.getAnimal().getId();
+    }
+}
@@ -0,0 +1,325 @@
+package com.healthpet.veterinaria.service;
+
+import com.healthpet.veterinaria.config.CacheConfig;
+import com.healthpet.veterinaria.dto.AnimalImportacaoDTO;
+import com.healthpet.veterinaria.dto.RelatorioImportacao;
+import com.healthpet.veterinaria.dto.VacinaImportacaoDTO;
+import com.healthpet.veterinaria.model.Animal;
+import com.healthpet.veterinaria.model.Prontuario;
+import com.healthpet.veterinaria.model.Vacina;
+import com.healthpet.veterinaria.repository.AnimalRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * ImportacaoService - Importação em massa de animais e vacinas
+ * 
+ * Usado na migração de clínicas. O fluxo é:
+ * 1. Converte e valida todas as linhas (Bean Validation + regras do domínio; nomes de
+ *    animais já cadastrados ou repetidos no arquivo são recusados por linha)
+ * 2. Grava apenas as linhas válidas, em lotes com uma transação por lote
+ *    (os IDs vêm de sequence, então o Hibernate agrupa os INSERTs em batch JDBC)
+ * 3. Retorna um relatório com os erros de cada linha rejeitada
+ * 
+ * Se um lote falhar no banco, só as linhas daquele lote são rejeitadas.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Service
+public class ImportacaoService {
+
+    /**
+     * Consulta de IDs existentes é feita em blocos para não gerar IN gigantes
+     */
+    private static final int TAMANHO_BLOCO_IDS = 1000;
+
+    /**
+     * Erro de um elemento null no array JSON (ex.: [{...}, null])
+     */
+    private static final String LINHA_VAZIA = "linha vazia";
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MedicaoService medicaoService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int tamanhoLote;
+
+    // ========== ANIMAIS ==========
+
+    /**
+     * Importa animais recebidos como array JSON
+     */
+    public RelatorioImportacao importarAnimais(List<AnimalImportacaoDTO> linhas) {
+        return importarAnimais(linhas, Map.of());
+    }
+
+    /**
+     * Importa animais recebidos como CSV (cabeçalho com os nomes dos campos)
+     */
+    public RelatorioImportacao importarAnimaisCsv(String csv) {
+        List<AnimalImportacaoDTO> linhas = new ArrayList<>();
+        Map<Integer, String> errosConversao = new HashMap<>();
+
+        List<Map<String, String>> registros = LeitorCsv.ler(csv);
+        for (int i = 0; i < registros.size(); i++) {
+            try {
+                linhas.add(AnimalImportacaoDTO.deCsv(registros.get(i)));
+            } catch (IllegalArgumentException e) {
+                // Mantém a numeração: a linha fica nula e o erro vai para o relatório
+                linhas.add(null);
+                errosConversao.put(i + 1, e.getMessage());
+            }
+        }
+        return importarAnimais(linhas, errosConversao);
+    }
+
+    private RelatorioImportacao importarAnimais(List<AnimalImportacaoDTO> linhas, Map<Integer, String> errosConversao) {
+        RelatorioImportacao relatorio = new RelatorioImportacao(linhas.size());
+        List<LinhaValida<AnimalImportado>> validas = new ArrayList<>();
+
+        for (int i = 0; i < linhas.size(); i++) {
+            int numero = i + 1;
+            if (errosConversao.containsKey(numero)) {
+                relatorio.adicionarErro(numero, List.of(errosConversao.get(numero)));
+                continue;
+            }
+            if (linhas.get(i) == null) {
+                relatorio.adicionarErro(numero, List.of(LINHA_VAZIA));
+                continue;
+            }
+            try {
+                Animal animal = linhas.get(i).paraEntidade();
+                Prontuario prontuario = linhas.get(i).paraProntuario(animal);
+                List<String> erros = validar(animal);
+                if (animal.getIdade() != null && !animal.validarIdade()) {
+                    erros.add("Idade inválida: deve estar entre 0 e 50 anos");
+                }
+                if (erros.isEmpty()) {
+                    validas.add(new LinhaValida<>(numero, new AnimalImportado(animal, prontuario), null));
+                } else {
+                    relatorio.adicionarErro(numero, erros);
+                }
+            } catch (IllegalArgumentException e) {
+                relatorio.adicionarErro(numero, List.of(e.getMessage()));
+            }
+        }
+
+        validas = rejeitarNomesRepetidos(validas, relatorio);
+
+        gravarEmLotes(validas, relatorio, linha -> {
+            entityManager.persist(linha.entidade().animal());
+            if (linha.entidade().prontuario() != null) {
+                entityManager.persist(linha.entidade().prontuario());
+                medicaoService.registrar(linha.entidade().prontuario());
+                cacheManager.getCache(CacheConfig.PRONTUARIOS).evict(linha.entidade().animal().getId());
+            }
+        });
+        return relatorio;
+    }
+
+    // ========== VACINAS ==========
+
+    /**
+     * Importa vacinas recebidas como array JSON (cada uma com o animalId)
+     */
+    public RelatorioImportacao importarVacinas(List<VacinaImportacaoDTO> linhas) {
+        return importarVacinas(linhas, Map.of());
+    }
+
+    /**
+     * Importa vacinas recebidas como CSV (datas em yyyy-MM-dd)
+     */
+    public RelatorioImportacao importarVacinasCsv(String csv) {
+        List<VacinaImportacaoDTO> linhas = new ArrayList<>();
+        Map<Integer, String> errosConversao = new HashMap<>();
+
+        List<Map<String, String>> registros = LeitorCsv.ler(csv);
+        for (int i = 0; i < registros.size(); i++) {
+            try {
+                linhas.add(VacinaImportacaoDTO.deCsv(registros.get(i)));
+            } catch (IllegalArgumentException e) {
+                linhas.add(null);
+                errosConversao.put(i + 1, e.getMessage());
+            }
+        }
+        return importarVacinas(linhas, errosConversao);
+    }
+
+    private RelatorioImportacao importarVacinas(List<VacinaImportacaoDTO> linhas, Map<Integer, String> errosConversao) {
+        RelatorioImportacao relatorio = new RelatorioImportacao(linhas.size());
+        Set<Long> animaisExistentes = buscarAnimaisExistentes(linhas);
+        List<LinhaValida<Vacina>> validas = new ArrayList<>();
+
+        for (int i = 0; i < linhas.size(); i++) {
+            int numero = i + 1;
+            if (errosConversao.containsKey(numero)) {
+                relatorio.adicionarErro(numero, List.of(errosConversao.get(numero)));
+                continue;
+            }
+            VacinaImportacaoDTO dto = linhas.get(i);
+            if (dto == null) {
+                relatorio.adicionarErro(numero, List.of(LINHA_VAZIA));
+                continue;
+            }
+            Vacina vacina = dto.paraEntidade();
+            List<String> erros = validar(vacina);
+            if (dto.getAnimalId() == null) {
+                erros.add("animalId é obrigatório");
+            } else if (!animaisExistentes.contains(dto.getAnimalId())) {
+                erros.add("Animal não encontrado com ID: " + dto.getAnimalId());
+            }
+            if (erros.isEmpty()) {
+                validas.add(new LinhaValida<>(numero, vacina, dto.getAnimalId()));
+            } else {
+                relatorio.adicionarErro(numero, erros);
+            }
+        }
+
+        gravarEmLotes(validas, relatorio, linha -> {
+            // Referência sem SELECT: a existência do animal já foi verificada acima
+            linha.entidade().setAnimal(entityManager.getReference(Animal.class, linha.animalId()));
+            entityManager.persist(linha.entidade());
+            cacheManager.getCache(CacheConfig.VACINAS_POR_ANIMAL).evict(linha.animalId());
+        });
+        return relatorio;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private List<String> validar(Object entidade) {
+        List<String> erros = new ArrayList<>();
+        for (ConstraintViolation<Object> violacao : validator.validate(entidade)) {
+            erros.add(violacao.getMessage());
+        }
+        return erros;
+    }
+
+    /**
+     * Verifica de uma vez (em blocos) quais animais referenciados existem
+     */
+    private Set<Long> buscarAnimaisExistentes(List<VacinaImportacaoDTO> linhas) {
+        Set<Long> ids = new HashSet<>();
+        for (VacinaImportacaoDTO dto : linhas) {
+            if (dto != null && dto.getAnimalId() != null) {
+                ids.add(dto.getAnimalId());
+            }
+        }
+
+        Set<Long> existentes = new HashSet<>();
+        List<Long> pendentes = new ArrayList<>(ids);
+        for (int inicio = 0; inicio < pendentes.size(); inicio += TAMANHO_BLOCO_IDS) {
+            List<Long> bloco = pendentes.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_IDS, pendentes.size()));
+            existentes.addAll(animalRepository.findIdsExistentes(bloco));
+        }
+        return existentes;
+    }
+
+    /**
+     * Rejeita, linha a linha, os nomes que o banco recusaria (uk_animais_nome, sem diferenciar
+     * maiúsculas): os que já estão cadastrados e os repetidos no próprio arquivo (fica a
+     * primeira ocorrência). Sem isso um nome repetido derruba o lote inteiro no banco.
+     */
+    private List<LinhaValida<AnimalImportado>> rejeitarNomesRepetidos(List<LinhaValida<AnimalImportado>> validas,
+                                                                      RelatorioImportacao relatorio) {
+        Map<String, Integer> primeiraLinha = new HashMap<>();
+        for (LinhaValida<AnimalImportado> linha : validas) {
+            primeiraLinha.putIfAbsent(normalizar(linha.entidade().animal().getNome()), linha.numero());
+        }
+
+        Set<String> existentes = new HashSet<>();
+        List<String> nomes = new ArrayList<>(primeiraLinha.keySet());
+        for (int inicio = 0; inicio < nomes.size(); inicio += TAMANHO_BLOCO_IDS) {
+            List<String> bloco = nomes.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_IDS, nomes.size()));
+            existentes.addAll(animalRepository.findNomesExistentes(bloco));
+        }
+
+        List<LinhaValida<AnimalImportado>> aceitas = new ArrayList<>();
+        for (LinhaValida<AnimalImportado> linha : validas) {
+            String nome = linha.entidade().animal().getNome();
+            int primeira = primeiraLinha.get(normalizar(nome));
+            if (existentes.contains(normalizar(nome))) {
+                relatorio.adicionarErro(linha.numero(), List.of(new NomeDuplicadoException(nome).getMessage()));
+            } else if (primeira != linha.numero()) {
+                relatorio.adicionarErro(linha.numero(), List.of("Nome repetido no arquivo (já usado na linha " + primeira + "): " + nome));
+            } else {
+                aceitas.add(linha);
+            }
+        }
+        return aceitas;
+    }
+
+    /**
+     * Mesma normalização da coluna nome_normalizado (LOWER(nome))
+     */
+    private static String normalizar(String nome) {
+        return nome.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Grava as linhas válidas em lotes de "tamanhoLote", uma transação por lote.
+     * flush + clear ao fim de cada lote mantém o contexto de persistência pequeno.
+     */
+    private <T> void gravarEmLotes(List<LinhaValida<T>> validas, RelatorioImportacao relatorio,
+                                   Consumer<LinhaValida<T>> persistir) {
+        for (int inicio = 0; inicio < validas.size(); inicio += tamanhoLote) {
+            List<LinhaValida<T>> lote = validas.subList(inicio, Math.min(inicio + tamanhoLote, validas.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    lote.forEach(persistir);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                relatorio.registrarImportados(lote.size());
+            } catch (RuntimeException e) {
+                String mensagem = "Erro ao gravar o lote: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                lote.forEach(linha -> relatorio.adicionarErro(linha.numero(), List.of(mensagem)));
+            }
+        }
+    }
+
+    /**
+     * Linha que passou na validação, com seu número original
+     * (animalId só é usado na importação de vacinas)
+     */
+    private record LinhaValida<T>(int numero, T entidade, Long animalId) {
+    }
+
+    /**
+     * Animal importado e o prontuário com os dados clínicos da linha (pode ser null)
+     */
+    private record AnimalImportado(Animal animal, Prontuario prontuario) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.healthpet.veterinaria.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LeitorCsv - Leitura simples de CSV para a importação em massa
+ * 
+ * - A primeira linha é o cabeçalho (nomes das colunas, sem diferenciar maiúsculas)
+ * - Separador ';' ou ',' (detectado pelo cabeçalho)
+ * - Campos entre aspas podem conter separadores, quebras de linha e "" para aspas
+ * - Linhas em branco são ignoradas; campos vazios ficam de fora do mapa
+ */
+final class LeitorCsv {
+
+    private LeitorCsv() {
+    }
+
+    /**
+     * Retorna um mapa coluna → valor para cada registro, na ordem do arquivo
+     */
+    static List<Map<String, String>> ler(String conteudo) {
+        List<Map<String, String>> registros = new ArrayList<>();
+        if (conteudo == null || conteudo.isBlank()) {
+            return registros;
+        }
+
+        String texto = conteudo.startsWith("﻿") ? conteudo.substring(1) : conteudo;
+        int fimCabecalho = texto.indexOf('\n');
+        String primeiraLinha = fimCabecalho < 0 ? texto : texto.substring(0, fimCabecalho);
+        char separador = primeiraLinha.indexOf(';') >= 0 ? ';' : ',';
+
+        List<List<String>> linhas = dividir(texto, separador);
+        List<String> cabecalho = new ArrayList<>();
+        for (String coluna : linhas.get(0)) {
+            cabecalho.add(coluna.trim().toLowerCase());
+        }
+
+        for (int i = 1; i < linhas.size(); i++) {
+            List<String> valores = linhas.get(i);
+            Map<String, String> registro = new HashMap<>();
+            for (int c = 0; c < cabecalho.size() && c < valores.size(); c++) {
+                String valor = valores.get(c).trim();
+                if (!valor.isEmpty()) {
+                    registro.put(cabecalho.get(c), valor);
+                }
+            }
+            registros.add(registro);
+        }
+        return registros;
+    }
+
+    private static List<List<String>> dividir(String texto, char separador) {
+        List<List<String>> linhas = new ArrayList<>();
+        List<String> linhaAtual = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < texto.length(); i++) {
+            char ch = texto.charAt(i);
+            if (entreAspas) {
+                if (ch == '"') {
+                    if (i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                        campo.append('"');
+                        i++;
+                    } else {
+                        entreAspas = false;
+                    }
+                } else {
+                    campo.append(ch);
+                }
+            } else if (ch == '"') {
+                entreAspas = true;
+            } else if (ch == separador) {
+                linhaAtual.add(campo.toString());
+                campo.setLength(0);
+            } else if (ch == '\n') {
+                linhaAtual.add(campo.toString());
+                campo.setLength(0);
+                adicionarSeNaoVazia(linhas, linhaAtual);
+                linhaAtual = new ArrayList<>();
+            } else if (ch != '\r') {
+                campo.append(ch);
+            }
+        }
+        linhaAtual.add(campo.toString());
+        adicionarSeNaoVazia(linhas, linhaAtual);
+        return linhas;
+    }
+
+    private static void adicionarSeNaoVazia(List<List<String>> linhas, List<String> linha) {
+        if (linha.size() > 1 || !linha.get(0).isBlank()) {
+            linhas.add(linha);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.healthpet.veterinaria.service;
+
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes;
+import com.healthpet.veterinaria.alteracoes.ContadorAlteracoes.Tabela;
+import com.healthpet.veterinaria.alteracoes.Transacoes;
+import com.healthpet.veterinaria.dto.SerieMedicoesDTO;
+import com.healthpet.veterinaria.dto.SerieMedicoesDTO.Estatistica;
+import com.healthpet.veterinaria.dto.SerieMedicoesDTO.Intervalo;
+import com.healthpet.veterinaria.model.Medicao;
+import com.healthpet.veterinaria.model.Prontuario;
+import com.healthpet.veterinaria.repository.AnimalRepository;
+import com.healthpet.veterinaria.repository.MedicaoRepository;
+import com.healthpet.veterinaria.repository.MedicaoRepository.PeriodoMedicoes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MedicaoService - Histórico de peso e altura dos animais
+ * 
+ * O prontuário guarda só o valor atual; quem altera peso ou altura chama
+ * registrar() e o valor novo é acrescentado ao histórico (medições nunca são
+ * alteradas). Para gráficos, gerarSerie() devolve o histórico reduzido a
+ * no máximo N intervalos, agregados pelo banco.
+ * 
+ * O histórico é do animal: removido o animal, as medições vão junto (removerHistorico).
+ * Diferente do diário de auditoria, que não tem chave estrangeira e guarda o registro
+ * de tudo o que foi removido, medições sem o animal não teriam como ser consultadas.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Service
+@Transactional
+public class MedicaoService {
+
+    @Autowired
+    private MedicaoRepository medicaoRepository;
+
+    @Autowired
+    private AnimalRepository animalRepository;
+
+    @Autowired
+    private ContadorAlteracoes contadorAlteracoes;
+
+    @Value("${healthpet.medicoes.pontos-padrao:100}")
+    private int pontosPadrao;
+
+    @Value("${healthpet.medicoes.pontos-maximo:1000}")
+    private int pontosMaximo;
+
+    /**
+     * Acrescenta ao histórico o peso e a altura atuais do prontuário
+     * (nada é gravado se os dois estiverem vazios)
+     */
+    public void registrar(Prontuario prontuario) {
+        if (prontuario.getPeso() == null && prontuario.getAltura() == null) {
+            return;
+        }
+        medicaoRepository.save(new Medicao(prontuario.getAnimal(), LocalDateTime.now(),
+                prontuario.getPeso(), prontuario.getAltura()));
+    }
+
+    /**
+     * Apaga o histórico do animal (chamado ao remover o animal, na mesma transação)
+     * 
+     * Um DELETE só, sem passar pelos listeners: o contador de medições é
+     * incrementado aqui, após o commit, para o ETag da série mudar.
+     */
+    public void removerHistorico(Long animalId) {
+        if (medicaoRepository.deleteByAnimalId(animalId) > 0) {
+            Transacoes.aposCommit(() -> contadorAlteracoes.alterada(Tabela.MEDICOES));
+        }
+    }
+
+    /**
+     * Série do animal entre inicio e fim (inclusive), dividida em até 'pontos' intervalos
+     * 
+     * @param inicio null = primeira medição
+     * @param fim    null = última medição
+     * @param pontos null = valor padrão; maiores que o máximo são reduzidos
+     * @throws IllegalArgumentException se o animal não existir ou o período for inválido
+     */
+    @Transactional(readOnly = true)
+    public SerieMedicoesDTO gerarSerie(Long animalId, LocalDateTime inicio, LocalDateTime fim, Integer pontos) {
+        int quantidade = quantidadePontos(pontos);
+        if (inicio == null || fim == null) {
+            PeriodoMedicoes periodo = medicaoRepository.buscarPeriodo(animalId);
+            if (inicio == null) {
+                inicio = periodo.getPrimeira();
+            }
+            if (fim == null && periodo.getUltima() != null) {
+                // Nenhuma medição depois do início informado: série vazia, não erro
+                fim = periodo.getUltima().isBefore(inicio) ? inicio : periodo.getUltima();
+            }
+        }
+        if (inicio == null || fim == null) {
+            // Animal sem nenhuma medição
+            verificarAnimal(animalId);
+            return new SerieMedicoesDTO(animalId, inicio, fim, null, List.of());
+        }
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("Fim do período deve ser posterior ao início");
+        }
+
+        // Início em segundo inteiro: DATEDIFF conta segundos completos a partir dele,
+        // então a última medição (fim) cai sempre no intervalo quantidade - 1 ou antes
+        inicio = inicio.truncatedTo(ChronoUnit.SECONDS);
+        long largura = Duration.between(inicio, fim).getSeconds() / quantidade + 1;
+
+        List<Intervalo> intervalos = new ArrayList<>();
+        for (Object[] linha : medicaoRepository.agruparPorIntervalo(animalId, inicio, fim, largura)) {
+            LocalDateTime inicioIntervalo = inicio.plusSeconds(((Number) linha[0]).longValue() * largura);
+            intervalos.add(new Intervalo(
+                    inicioIntervalo,
+                    inicioIntervalo.plusSeconds(largura),
+                    ((Number) linha[1]).longValue(),
+                    estatistica(linha, 2),
+                    estatistica(linha, 5),
+                    estatistica(linha, 8)));
+        }
+        if (intervalos.isEmpty()) {
+            verificarAnimal(animalId);
+        }
+        return new SerieMedicoesDTO(animalId, inicio, fim, largura, intervalos);
+    }
+
+    /**
+     * Mínimo, máximo e média a partir da coluna informada
+     */
+    private static Estatistica estatistica(Object[] linha, int coluna) {
+        return Estatistica.de(decimal(linha[coluna]), decimal(linha[coluna + 1]), decimal(linha[coluna + 2]));
+    }
+
+    private static Double decimal(Object valor) {
+        return (valor == null) ? null : ((Number) valor).doubleValue();
+    }
+
+    /**
+     * Só consultado quando não há medições: distingue "sem histórico" de "animal inexistente"
+     */
+    private void verificarAnimal(Long animalId) {
+        if (!animalRepository.existsById(animalId)) {
+            throw new IllegalArgumentException("Animal não encontrado com ID: " + animalId);
+        }
+    }
+
+    private int quantidadePontos(Integer solicitado) {
+        if (solicitado == null) {
+            return Math.min(pontosPadrao, pontosMaximo);
+        }
+        if (solicitado < 1) {
+            throw new IllegalArgumentException("Pontos deve ser maior que zero");
+        }
+        return Math.min(solicitado, pontosMaximo);
+    }
+}
@@ -0,0 +1,17 @@
+package com.healthpet.veterinaria.service;
+
+/**
+ * NomeDuplicadoException - Já existe um animal com este nome
+ * (sem diferenciar maiúsculas; restrição uk_animais_nome do banco)
+ * 
+ * Os controllers respondem 409 (Conflict).
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+public class NomeDuplicadoException extends RuntimeException {
+
+    public NomeDuplicadoException(String nome) {
+        super("Já existe um animal cadastrado com este nome: " + nome);
+    }
+}
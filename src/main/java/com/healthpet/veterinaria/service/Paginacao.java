@@ -0,0 +1,90 @@
+package com.healthpet.veterinaria.service;
+
+import com.healthpet.veterinaria.dto.Pagina;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Paginacao - Regras de paginação por cursor (keyset / seek-by-id)
+ * 
+ * Centraliza o tamanho padrão e máximo das páginas e a codificação
+ * dos cursores usados pelos services de Animal e Vacina.
+ * 
+ * As consultas buscam sempre "limite + 1" linhas com id > cursor:
+ * a linha extra só indica se existe uma próxima página.
+ * 
+ * @author Felipe Brito
+ * @version 1.0
+ */
+@Component
+public class Paginacao {
+
+    private static final String PREFIXO_CURSOR = "id:";
+
+    @Value("${healthpet.paginacao.tamanho-padrao:20}")
+    private int tamanhoPadrao;
+
+    @Value("${healthpet.paginacao.tamanho-maximo:100}")
+    private int tamanhoMaximo;
+
+    /**
+     * Normaliza o tamanho solicitado entre 1 e o tamanho máximo configurado
+     */
+    public int tamanho(Integer solicitado) {
+        if (solicitado == null) {
+            return Math.min(tamanhoPadrao, tamanhoMaximo);
+        }
+        if (solicitado < 1) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+        return Math.min(solicitado, tamanhoMaximo);
+    }
+
+    /**
+     * Limit usado nas queries (uma linha a mais para detectar a próxima página)
+     */
+    public Limit consulta(int tamanho) {
+        return Limit.of(tamanho + 1);
+    }
+
+    /**
+     * Decodifica o cursor e retorna o último ID já entregue (0 = primeira página)
+     */
+    public long aposId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO_CURSOR)) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return Long.parseLong(valor.substring(PREFIXO_CURSOR.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException também é IllegalArgumentException
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Monta a página a partir das linhas retornadas pela query (até tamanho + 1)
+     */
+    public <T> Pagina<T> montar(List<T> linhas, int tamanho, Function<T, Long> id) {
+        if (linhas.size() <= tamanho) {
+            return new Pagina<>(linhas, null);
+        }
+        List<T> itens = linhas.subList(0, tamanho);
+        return new Pagina<>(itens, codificar(id.apply(itens.get(tamanho - 1))));
+    }
+
+    private String codificar(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIXO_CURSOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
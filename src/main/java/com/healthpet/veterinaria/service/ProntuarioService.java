@@ -1,13 +1,21 @@
 package com.healthpet.veterinaria.service;
 
+import com.healthpet.veterinaria.config.CacheConfig;
 import com.healthpet.veterinaria.model.Animal;
 import com.healthpet.veterinaria.model.Prontuario;
 import com.healthpet.veterinaria.repository.AnimalRepository;
 import com.healthpet.veterinaria.repository.ProntuarioRepository;
+import com.healthpet.veterinaria.selecao.ConsultaSelecao;
+import com.healthpet.veterinaria.selecao.Selecao;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -28,9 +36,20 @@ public class ProntuarioService {
     @Autowired
     private AnimalRepository animalRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ConsultaSelecao consultaSelecao;
+
+    @Autowired
+    private MedicaoService medicaoService;
+
     /**
      * Cria ou atualiza prontuário de um animal
+     * Peso ou altura diferentes dos atuais entram no histórico de medições
      */
+    @CacheEvict(cacheNames = CacheConfig.PRONTUARIOS, key = "#animalId")
     public Prontuario salvarProntuario(Long animalId, Prontuario prontuario) {
         // Busca o animal
         Animal animal = animalRepository.findById(animalId)
@@ -42,23 +61,30 @@ public class ProntuarioService {
         if (prontuarioExistente.isPresent()) {
             // Atualiza o prontuário existente
             Prontuario p = prontuarioExistente.get();
+            boolean medidasAlteradas = !Objects.equals(p.getPeso(), prontuario.getPeso())
+                    || !Objects.equals(p.getAltura(), prontuario.getAltura());
             p.setPeso(prontuario.getPeso());
             p.setAltura(prontuario.getAltura());
             p.setAlergias(prontuario.getAlergias());
             p.setMedicamentosEmUso(prontuario.getMedicamentosEmUso());
             p.setCondicoesPreExistentes(prontuario.getCondicoesPreExistentes());
             p.setObservacoes(prontuario.getObservacoes());
+            if (medidasAlteradas) {
+                medicaoService.registrar(p);
+            }
             return prontuarioRepository.save(p);
         } else {
             // Cria novo prontuário
             prontuario.setAnimal(animal);
+            medicaoService.registrar(prontuario);
             return prontuarioRepository.save(prontuario);
         }
     }
 
     /**
-     * Busca prontuário por ID do animal
+     * Busca prontuário por ID do animal (com cache; "não encontrado" não é guardado)
      */
+    @Cacheable(cacheNames = CacheConfig.PRONTUARIOS, key = "#animalId", unless = "#result == null")
     public Optional<Prontuario> buscarPorAnimalId(Long animalId) {
         return prontuarioRepository.findByAnimalId(animalId);
     }
@@ -81,13 +107,36 @@ public class ProntuarioService {
      * Deleta prontuário
      */
     public void deletarProntuario(Long id) {
-        prontuarioRepository.deleteById(id);
+        // Busca antes para saber qual animal remover do cache
+        prontuarioRepository.findById(id).ifPresent(prontuario -> {
+            cacheManager.getCache(CacheConfig.PRONTUARIOS).evict(prontuario.getAnimal().getId());
+            prontuarioRepository.delete(prontuario);
+        });
     }
 
     /**
      * Deleta prontuário por ID do animal
      */
+    @CacheEvict(cacheNames = CacheConfig.PRONTUARIOS, key = "#animalId")
     public void deletarPorAnimalId(Long animalId) {
         prontuarioRepository.deleteByAnimalId(animalId);
     }
+
+    // ========== CAMPOS SELECIONADOS (?fields=) ==========
+
+    /**
+     * Prontuário de um animal, só com os campos pedidos (sem cache)
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> buscarPorAnimalId(Long animalId, Selecao selecao) {
+        return consultaSelecao.listarPorAnimal(selecao, animalId).stream().findFirst();
+    }
+
+    /**
+     * Prontuário por ID, só com os campos pedidos
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> buscarPorId(Long id, Selecao selecao) {
+        return consultaSelecao.buscarPorId(selecao, id);
+    }
 }
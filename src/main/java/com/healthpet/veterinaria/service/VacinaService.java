@@ -1,16 +1,29 @@
 package com.healthpet.veterinaria.service;
 
+import com.healthpet.veterinaria.agenda.AgendaVacinas;
+import com.healthpet.veterinaria.config.CacheConfig;
+import com.healthpet.veterinaria.dto.Pagina;
 import com.healthpet.veterinaria.model.Animal;
 import com.healthpet.veterinaria.model.Vacina;
 import com.healthpet.veterinaria.repository.AnimalRepository;
 import com.healthpet.veterinaria.repository.VacinaRepository;
+import com.healthpet.veterinaria.selecao.ConsultaSelecao;
+import com.healthpet.veterinaria.selecao.Selecao;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * VacinaService - Camada de Serviço
@@ -30,9 +43,25 @@ public class VacinaService {
     @Autowired
     private AnimalRepository animalRepository;
 
+    @Autowired
+    private Paginacao paginacao;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private AgendaVacinas agenda;
+
+    @Autowired
+    private ControleVersao controleVersao;
+
+    @Autowired
+    private ConsultaSelecao consultaSelecao;
+
     /**
      * Registra uma nova vacina para um animal
      */
+    @CacheEvict(cacheNames = CacheConfig.VACINAS_POR_ANIMAL, key = "#animalId")
     public Vacina registrarVacina(Long animalId, Vacina vacina) {
         // Busca o animal
         Animal animal = animalRepository.findById(animalId)
@@ -45,8 +74,9 @@ public class VacinaService {
     }
 
     /**
-     * Lista todas as vacinas de um animal
+     * Lista todas as vacinas de um animal (com cache)
      */
+    @Cacheable(cacheNames = CacheConfig.VACINAS_POR_ANIMAL, key = "#animalId")
     public List<Vacina> listarVacinasPorAnimal(Long animalId) {
         return vacinaRepository.findByAnimalIdOrderByDataAplicacaoDesc(animalId);
     }
@@ -60,11 +90,35 @@ public class VacinaService {
 
     /**
      * Atualiza uma vacina
+     * 
+     * versaoEsperada = versão que o cliente leu (If-Match); nula = sem verificação.
+     * Fora da transação da classe para que ControleVersao possa repetir a alteração.
      */
-    public Vacina atualizarVacina(Long id, Vacina vacinaAtualizada) {
-        Vacina vacina = vacinaRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Vacina não encontrada"));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Vacina atualizarVacina(Long id, Vacina vacinaAtualizada, Long versaoEsperada) {
+        return controleVersao.executar(() -> {
+            Vacina vacina = vacinaRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Vacina não encontrada"));
+
+            Map<String, Object> antes = controleVersao.capturar(vacina);
+            aplicarCampos(vacina, vacinaAtualizada);
+            Set<String> alterados = controleVersao.alterados(antes, vacina);
+            if (alterados.isEmpty()) {
+                return vacina;
+            }
 
+            controleVersao.verificar("Vacina", id, vacina.getVersao(), versaoEsperada, alterados);
+            removerDoCache(vacina);
+            Vacina salva = vacinaRepository.saveAndFlush(vacina);
+            controleVersao.registrar("Vacina", id, salva.getVersao(), alterados);
+            return salva;
+        });
+    }
+
+    /**
+     * Copia para a vacina os campos não nulos recebidos
+     */
+    private void aplicarCampos(Vacina vacina, Vacina vacinaAtualizada) {
         // Atualiza os campos
         if (vacinaAtualizada.getNome() != null) {
             vacina.setNome(vacinaAtualizada.getNome());
@@ -87,18 +141,16 @@ public class VacinaService {
         if (vacinaAtualizada.getCompleta() != null) {
             vacina.setCompleta(vacinaAtualizada.getCompleta());
         }
-
-        return vacinaRepository.save(vacina);
     }
 
     /**
      * Deleta uma vacina
      */
     public void deletarVacina(Long id) {
-        if (!vacinaRepository.existsById(id)) {
-            throw new IllegalArgumentException("Vacina não encontrada");
-        }
-        vacinaRepository.deleteById(id);
+        Vacina vacina = vacinaRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Vacina não encontrada"));
+        removerDoCache(vacina);
+        vacinaRepository.delete(vacina);
     }
 
     /**
@@ -109,19 +161,82 @@ public class VacinaService {
     }
 
     /**
-     * Busca vacinas vencidas
+     * Busca vacinas vencidas (servido pela agenda em memória, em ordem de próxima dose)
      */
+    @Transactional(readOnly = true)
     public List<Vacina> buscarVacinasVencidas() {
-        return vacinaRepository.findVacinasVencidas(LocalDate.now());
+        if (!agenda.isPronta()) {
+            return vacinaRepository.findVacinasVencidas(agenda.getHoje());
+        }
+        return carregarNaOrdem(agenda.vencidas());
     }
 
     /**
      * Busca vacinas próximas ao vencimento (próximos 7 dias)
      */
+    @Transactional(readOnly = true)
     public List<Vacina> buscarVacinasProximas() {
-        LocalDate hoje = LocalDate.now();
-        LocalDate dataLimite = hoje.plusDays(7);
-        return vacinaRepository.findVacinasProximas(hoje, dataLimite);
+        if (!agenda.isPronta()) {
+            LocalDate hoje = agenda.getHoje();
+            return vacinaRepository.findVacinasProximas(hoje, hoje.plusDays(AgendaVacinas.DIAS_PROXIMAS));
+        }
+        return carregarNaOrdem(agenda.proximas());
+    }
+
+    /**
+     * Carrega as vacinas da agenda em uma única query (por chave primária),
+     * mantendo a ordem de data da agenda
+     */
+    private List<Vacina> carregarNaOrdem(List<Long> ids) {
+        Map<Long, Vacina> porId = new HashMap<>();
+        for (Vacina vacina : vacinaRepository.findAllById(ids)) {
+            porId.put(vacina.getId(), vacina);
+        }
+
+        List<Vacina> resultado = new ArrayList<>();
+        for (Long id : ids) {
+            Vacina vacina = porId.get(id);
+            if (vacina != null) {
+                resultado.add(vacina);
+            }
+        }
+        return resultado;
+    }
+
+    // ========== LEITURAS PAGINADAS (CURSOR) ==========
+
+    /**
+     * Página de todas as vacinas
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Vacina> listarTodas(String cursor, Integer limite) {
+        int tamanho = paginacao.tamanho(limite);
+        List<Vacina> linhas = vacinaRepository.findByIdGreaterThanOrderByIdAsc(
+                paginacao.aposId(cursor), paginacao.consulta(tamanho));
+        return paginacao.montar(linhas, tamanho, Vacina::getId);
+    }
+
+    /**
+     * Página de vacinas vencidas
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Vacina> buscarVacinasVencidas(String cursor, Integer limite) {
+        int tamanho = paginacao.tamanho(limite);
+        List<Vacina> linhas = vacinaRepository.findVacinasVencidasAposId(
+                agenda.getHoje(), paginacao.aposId(cursor), paginacao.consulta(tamanho));
+        return paginacao.montar(linhas, tamanho, Vacina::getId);
+    }
+
+    /**
+     * Página de vacinas próximas ao vencimento (próximos 7 dias)
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Vacina> buscarVacinasProximas(String cursor, Integer limite) {
+        int tamanho = paginacao.tamanho(limite);
+        LocalDate hoje = agenda.getHoje();
+        List<Vacina> linhas = vacinaRepository.findVacinasProximasAposId(
+                hoje, hoje.plusDays(AgendaVacinas.DIAS_PROXIMAS), paginacao.aposId(cursor), paginacao.consulta(tamanho));
+        return paginacao.montar(linhas, tamanho, Vacina::getId);
     }
 
     /**
@@ -148,6 +263,52 @@ public class VacinaService {
         vacina.setCompleta(true);
         vacina.setProximaDose(null); // Remove próxima dose se completa
         
+        removerDoCache(vacina);
         return vacinaRepository.save(vacina);
     }
-}
\ No newline at end of file
+
+    /**
+     * Remove do cache a lista de vacinas do animal desta vacina
+     * (efetivado após o commit; getId() do proxy LAZY não consulta o banco)
+     */
+    private void removerDoCache(Vacina vacina) {
+        cacheManager.getCache(CacheConfig.VACINAS_POR_ANIMAL).evict(vacina.getAnimal().getId());
+    }
+
+    // ========== CAMPOS SELECIONADOS (?fields=) ==========
+
+    /**
+     * Todas as vacinas, só com os campos pedidos
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listarTodas(Selecao selecao) {
+        return consultaSelecao.listar(selecao, 0L, null);
+    }
+
+    /**
+     * Página de vacinas, só com os campos pedidos
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Map<String, Object>> listarTodas(Selecao selecao, String cursor, Integer limite) {
+        int tamanho = paginacao.tamanho(limite);
+        List<Map<String, Object>> linhas = consultaSelecao.listar(
+                selecao, paginacao.aposId(cursor), paginacao.consulta(tamanho).max());
+        return paginacao.montar(linhas, tamanho, Selecao::id);
+    }
+
+    /**
+     * Vacina por ID, só com os campos pedidos
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> buscarPorId(Long id, Selecao selecao) {
+        return consultaSelecao.buscarPorId(selecao, id);
+    }
+
+    /**
+     * Vacinas de um animal (mais recentes primeiro), só com os campos pedidos (sem cache)
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listarVacinasPorAnimal(Long animalId, Selecao selecao) {
+        return consultaSelecao.listarPorAnimal(selecao, animalId);
+    }
+}
@@ -0,0 +1,61 @@
+-- ============================================
+-- HEALTHPET - ESQUEMA INICIAL
+-- Mesmo esquema que o Hibernate gerava com ddl-auto=create-drop
+-- ============================================
+
+-- Sequences (allocationSize = 50 nas entidades)
+CREATE SEQUENCE animais_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE prontuarios_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE vacinas_seq START WITH 1 INCREMENT BY 50;
+
+-- Animal, Cachorro e Gato (SINGLE_TABLE, discriminador tipo_animal)
+CREATE TABLE animais (
+    id                       BIGINT           NOT NULL,
+    tipo_animal              VARCHAR(31)      NOT NULL,
+    nome                     VARCHAR(100)     NOT NULL,
+    especie                  VARCHAR(50)      NOT NULL,
+    idade                    DOUBLE PRECISION NOT NULL,
+    nome_dono                VARCHAR(100)     NOT NULL,
+    telefone                 VARCHAR(20)      NOT NULL,
+    raca                     VARCHAR(50),
+    peso                     DOUBLE PRECISION,
+    altura                   DOUBLE PRECISION,
+    alergias                 VARCHAR(500),
+    medicamentos_em_uso      VARCHAR(500),
+    condicoes_pre_existentes VARCHAR(500),
+    porte                    VARCHAR(20),
+    pelagem                  VARCHAR(20),
+    temperamento             VARCHAR(30),
+    PRIMARY KEY (id)
+);
+
+-- Prontuário (1:1 com animal)
+CREATE TABLE prontuarios (
+    id                       BIGINT           NOT NULL,
+    animal_id                BIGINT           NOT NULL UNIQUE,
+    peso                     DOUBLE PRECISION,
+    altura                   DOUBLE PRECISION,
+    alergias                 VARCHAR(500),
+    medicamentos_em_uso      VARCHAR(500),
+    condicoes_pre_existentes VARCHAR(1000),
+    observacoes              VARCHAR(2000),
+    data_criacao             TIMESTAMP(6)     NOT NULL,
+    ultima_atualizacao       TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_prontuarios_animal FOREIGN KEY (animal_id) REFERENCES animais (id)
+);
+
+-- Vacinas (N:1 com animal)
+CREATE TABLE vacinas (
+    id             BIGINT       NOT NULL,
+    animal_id      BIGINT       NOT NULL,
+    nome           VARCHAR(100) NOT NULL,
+    data_aplicacao DATE         NOT NULL,
+    proxima_dose   DATE,
+    lote           VARCHAR(50),
+    veterinario    VARCHAR(100),
+    observacoes    VARCHAR(500),
+    completa       BOOLEAN      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_vacinas_animal FOREIGN KEY (animal_id) REFERENCES animais (id)
+);
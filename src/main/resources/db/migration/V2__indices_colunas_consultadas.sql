@@ -0,0 +1,25 @@
+-- ============================================
+-- HEALTHPET - ÍNDICES DAS COLUNAS MAIS CONSULTADAS
+-- Comparação dos planos antes/depois: benchmark/planos-de-consulta.sql
+-- ============================================
+
+-- Vacinas vencidas / próximas ao vencimento
+-- (WHERE completa = false AND proxima_dose < ? / BETWEEN ? AND ?)
+CREATE INDEX idx_vacinas_completa_proxima_dose ON vacinas (completa, proxima_dose);
+
+-- Vacinas de um animal, mais recentes primeiro
+-- (findByAnimalId, findByAnimalIdOrderByDataAplicacaoDesc, ficha, countByAnimalId)
+-- No H2 a FK de animal_id já cria um índice próprio; este é o que vale em bancos
+-- que não indexam FKs sozinhos (PostgreSQL) e evita a ordenação por data
+CREATE INDEX idx_vacinas_animal_data_aplicacao ON vacinas (animal_id, data_aplicacao DESC);
+
+-- Busca exata por telefone (findByTelefone)
+CREATE INDEX idx_animais_telefone ON animais (telefone);
+
+-- Observações:
+-- - tipo_animal não recebe índice: cada tipo é cerca de 1/3 da tabela e a página por
+--   cursor (id > :id ORDER BY id) já percorre a chave primária lendo poucas linhas;
+--   no benchmark, um índice (tipo_animal, id) fez o H2 ler o tipo inteiro e ordenar.
+-- - As buscas por trecho (LIKE '%termo%') e sem diferenciar maiúsculas
+--   (UPPER(coluna) = UPPER(?)) em nome, nome_dono e espécie não usam índice B-tree;
+--   essas buscas são atendidas pelo índice de trigramas em memória (IndiceBuscaAnimais).
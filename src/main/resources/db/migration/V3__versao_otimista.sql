@@ -0,0 +1,8 @@
+-- ============================================
+-- HEALTHPET - VERSÃO PARA LOCK OTIMISTA
+-- Incrementada pelo Hibernate (@Version) a cada UPDATE de animal ou vacina;
+-- exposta na API como ETag e conferida pelo cabeçalho If-Match dos PUT
+-- ============================================
+
+ALTER TABLE animais ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE vacinas ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,13 @@
+-- ============================================
+-- HEALTHPET - NOME DE ANIMAL ÚNICO (SEM DIFERENCIAR MAIÚSCULAS)
+-- O H2 não tem índice sobre expressão; a coluna gerada guarda o nome em
+-- minúsculas e a restrição única sobre ela é conferida pelo próprio banco
+-- (substitui a consulta existsByNomeIgnoreCase antes de cada INSERT)
+--
+-- Se o banco já tiver nomes repetidos esta migração falha: renomeie os
+-- repetidos (SELECT LOWER(nome), COUNT(*) FROM animais GROUP BY 1 HAVING COUNT(*) > 1)
+-- ============================================
+
+ALTER TABLE animais ADD COLUMN nome_normalizado VARCHAR(100) GENERATED ALWAYS AS (LOWER(nome));
+
+ALTER TABLE animais ADD CONSTRAINT uk_animais_nome UNIQUE (nome_normalizado);
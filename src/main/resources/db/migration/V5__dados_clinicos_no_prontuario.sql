@@ -0,0 +1,52 @@
+-- ============================================
+-- HEALTHPET - DADOS CLÍNICOS SÓ NO PRONTUÁRIO
+-- peso, altura, alergias, medicamentos e condições existiam em animais e em
+-- prontuarios, gravados por caminhos diferentes. Passam a existir só em prontuarios.
+--
+-- Os valores de animais completam o prontuário (o que já está no prontuário vale);
+-- os valores padrão do cadastro antigo (0, 'Nenhum'...) não são copiados
+-- ============================================
+
+-- 1. Animais com dados clínicos e sem prontuário: cria o prontuário
+INSERT INTO prontuarios (id, animal_id, peso, altura, alergias, medicamentos_em_uso,
+                         condicoes_pre_existentes, data_criacao, ultima_atualizacao)
+SELECT NEXT VALUE FOR prontuarios_seq, c.id, c.peso, c.altura, c.alergias, c.medicamentos_em_uso,
+       c.condicoes_pre_existentes, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+FROM (
+    SELECT a.id,
+           NULLIF(a.peso, 0) AS peso,
+           NULLIF(a.altura, 0) AS altura,
+           NULLIF(NULLIF(TRIM(a.alergias), ''), 'Nenhuma alergia conhecida') AS alergias,
+           NULLIF(NULLIF(TRIM(a.medicamentos_em_uso), ''), 'Nenhum') AS medicamentos_em_uso,
+           NULLIF(NULLIF(TRIM(a.condicoes_pre_existentes), ''), 'Nenhuma') AS condicoes_pre_existentes
+    FROM animais a
+    WHERE NOT EXISTS (SELECT 1 FROM prontuarios p WHERE p.animal_id = a.id)
+) c
+WHERE c.peso IS NOT NULL
+   OR c.altura IS NOT NULL
+   OR c.alergias IS NOT NULL
+   OR c.medicamentos_em_uso IS NOT NULL
+   OR c.condicoes_pre_existentes IS NOT NULL;
+
+-- 2. Prontuários existentes: preenche os campos vazios com os valores do animal
+UPDATE prontuarios p SET
+    peso = COALESCE(p.peso,
+        (SELECT NULLIF(a.peso, 0) FROM animais a WHERE a.id = p.animal_id)),
+    altura = COALESCE(p.altura,
+        (SELECT NULLIF(a.altura, 0) FROM animais a WHERE a.id = p.animal_id)),
+    alergias = CASE WHEN TRIM(p.alergias) <> '' THEN p.alergias ELSE
+        (SELECT NULLIF(NULLIF(TRIM(a.alergias), ''), 'Nenhuma alergia conhecida')
+         FROM animais a WHERE a.id = p.animal_id) END,
+    medicamentos_em_uso = CASE WHEN TRIM(p.medicamentos_em_uso) <> '' THEN p.medicamentos_em_uso ELSE
+        (SELECT NULLIF(NULLIF(TRIM(a.medicamentos_em_uso), ''), 'Nenhum')
+         FROM animais a WHERE a.id = p.animal_id) END,
+    condicoes_pre_existentes = CASE WHEN TRIM(p.condicoes_pre_existentes) <> '' THEN p.condicoes_pre_existentes ELSE
+        (SELECT NULLIF(NULLIF(TRIM(a.condicoes_pre_existentes), ''), 'Nenhuma')
+         FROM animais a WHERE a.id = p.animal_id) END;
+
+-- 3. Remove as colunas duplicadas de animais
+ALTER TABLE animais DROP COLUMN peso;
+ALTER TABLE animais DROP COLUMN altura;
+ALTER TABLE animais DROP COLUMN alergias;
+ALTER TABLE animais DROP COLUMN medicamentos_em_uso;
+ALTER TABLE animais DROP COLUMN condicoes_pre_existentes;
@@ -0,0 +1,28 @@
+-- ============================================
+-- HEALTHPET - HISTÓRICO DE PESO E ALTURA
+-- O prontuário guarda só o valor atual; cada alteração de peso/altura
+-- acrescenta uma linha em medicoes (nunca alterada nem removida pela aplicação)
+-- ============================================
+
+CREATE SEQUENCE medicoes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE medicoes (
+    id           BIGINT           NOT NULL,
+    animal_id    BIGINT           NOT NULL,
+    data_medicao TIMESTAMP(6)     NOT NULL,
+    peso         DOUBLE PRECISION,
+    altura       DOUBLE PRECISION,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_medicoes_animal FOREIGN KEY (animal_id) REFERENCES animais (id)
+);
+
+-- Série de um animal em um período (WHERE animal_id = ? AND data_medicao BETWEEN ? AND ?)
+-- Índice de cobertura: peso e altura estão no próprio índice, então a série
+-- percorre só o trecho ordenado daquele animal, sem ler a tabela
+CREATE INDEX idx_medicoes_animal_data ON medicoes (animal_id, data_medicao, peso, altura);
+
+-- Ponto de partida: o valor atual de cada prontuário
+INSERT INTO medicoes (id, animal_id, data_medicao, peso, altura)
+SELECT NEXT VALUE FOR medicoes_seq, p.animal_id, COALESCE(p.ultima_atualizacao, p.data_criacao), p.peso, p.altura
+FROM prontuarios p
+WHERE p.peso IS NOT NULL OR p.altura IS NOT NULL;
@@ -0,0 +1,24 @@
+-- ============================================
+-- HEALTHPET - DIÁRIO DE AUDITORIA
+-- Alterações de animais, vacinas e prontuários, só inseridas (nunca alteradas),
+-- gravadas em lote pelo DiarioAuditoria. 'dados' é o registro completo (JSON)
+-- ou só os campos alterados desde a entrada anterior do mesmo registro.
+-- Sem FK: o histórico continua depois que o registro é removido.
+-- ============================================
+
+CREATE SEQUENCE auditoria_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE auditoria (
+    id             BIGINT       NOT NULL,
+    tabela         VARCHAR(20)  NOT NULL,
+    registro_id    BIGINT       NOT NULL,
+    operacao       VARCHAR(10)  NOT NULL,
+    completo       BOOLEAN      NOT NULL,
+    data_alteracao TIMESTAMP(6) NOT NULL,
+    dados          CHARACTER LARGE OBJECT,
+    PRIMARY KEY (id)
+);
+
+-- Reconstrução de um registro até um instante
+-- (WHERE tabela = ? AND registro_id = ? AND data_alteracao <= ? ORDER BY data_alteracao)
+CREATE INDEX idx_auditoria_registro_data ON auditoria (tabela, registro_id, data_alteracao);
@@ -6,9 +6,11 @@
 const API_URL = 'http://localhost:8080/api/animais';
 const API_PRONTUARIO = 'http://localhost:8080/api/prontuarios';
 const API_VACINA = 'http://localhost:8080/api/vacinas';
+const API_DASHBOARD = 'http://localhost:8080/api/dashboard';
 
 let animaisCache = [];
 let animalAtual = null;
+let etagEdicao = null; // versão lida ao abrir a edição, enviada no If-Match
 
 // ========== INICIALIZAÇÃO ==========
 document.addEventListener('DOMContentLoaded', function() {
@@ -354,7 +356,10 @@ function buscarAnimal() {
 // ========== EDIÇÃO ==========
 function abrirModalEditar(id) {
     fetch(API_URL + '/' + id)
-    .then(function(response) { return response.json(); })
+    .then(function(response) {
+        etagEdicao = response.headers.get('ETag');
+        return response.json();
+    })
     .then(function(animal) {
         document.getElementById('editId').value = animal.id;
         document.getElementById('editNome').value = animal.nome;
@@ -412,16 +417,25 @@ function salvarEdicao(event) {
         dados.temperamento = document.getElementById('editTemperamento').value;
     }
     
+    // If-Match: se outra pessoa alterou os mesmos campos depois da leitura, o servidor responde 412
+    const headers = { 'Content-Type': 'application/json' };
+    if (etagEdicao) {
+        headers['If-Match'] = etagEdicao;
+    }
+    
     fetch(API_URL + '/' + id, {
         method: 'PUT',
-        headers: { 'Content-Type': 'application/json' },
+        headers: headers,
         body: JSON.stringify(dados)
     })
     .then(function(response) {
         if (response.ok) {
+            etagEdicao = null;
             mostrarAlerta('✅ Animal atualizado!', 'success');
             bootstrap.Modal.getInstance(document.getElementById('modalEditar')).hide();
             carregarDados();
+        } else if (response.status === 412) {
+            alert('Registro alterado por outro usuário, recarregue.');
         } else {
             throw new Error('Erro ao atualizar');
         }
@@ -453,17 +467,16 @@ function removerAnimal(id) {
 
 // ========== PRONTUÁRIO ==========
 function abrirModalProntuario(id) {
-    fetch(API_URL + '/' + id)
+    // Ficha completa: animal + prontuário em uma única requisição
+    fetch(API_URL + '/' + id + '/ficha')
     .then(function(response) { return response.json(); })
-    .then(function(animal) {
+    .then(function(ficha) {
+        const animal = ficha.animal;
+        const prontuario = ficha.prontuario || {};
         animalAtual = animal;
         document.getElementById('prontuarioAnimalId').value = id;
         document.getElementById('prontuarioNomeAnimal').textContent = 'Animal: ' + animal.nome;
         
-        return fetch(API_PRONTUARIO + '/animal/' + id);
-    })
-    .then(function(response) { return response.json(); })
-    .then(function(prontuario) {
         document.getElementById('prontuarioPeso').value = prontuario.peso || '';
         document.getElementById('prontuarioAltura').value = prontuario.altura || '';
         document.getElementById('prontuarioAlergias').value = prontuario.alergias || '';
@@ -516,18 +529,14 @@ function salvarProntuario(event) {
 function abrirModalVacinasAnimal(id) {
     console.log('🔹 Abrindo modal de vacinas para animal ID:', id);
     
-    fetch(API_URL + '/' + id)
+    // Ficha completa: animal + vacinas em uma única requisição
+    fetch(API_URL + '/' + id + '/ficha')
     .then(function(response) { return response.json(); })
-    .then(function(animal) {
+    .then(function(ficha) {
+        const animal = ficha.animal;
+        const vacinas = ficha.vacinas;
         animalAtual = animal;
-        console.log('✅ Animal carregado:', animal);
         document.getElementById('vacinasNomeAnimal').textContent = 'Animal: ' + animal.nome;
-        
-        return fetch(API_VACINA + '/animal/' + id);
-    })
-    .then(function(response) { return response.json(); })
-    .then(function(vacinas) {
-        console.log('✅ Vacinas carregadas:', vacinas);
         const container = document.getElementById('listaVacinasAnimal');
         
         if (vacinas.length === 0) {
@@ -740,39 +749,16 @@ function carregarTodasVacinas() {
 function carregarEstatisticas() {
     console.log('Carregando estatísticas...');
     
-    fetch(API_URL)
+    // Contadores já calculados no servidor (não baixa a lista completa)
+    fetch(API_DASHBOARD + '/resumo')
     .then(function(response) { return response.json(); })
-    .then(function(animais) {
-        console.log('Todos os animais:', animais);
-        
-        let total = animais.length;
-        let cachorros = 0;
-        let gatos = 0;
-        let outros = 0;
-        
-        animais.forEach(function(animal) {
-            if (animal.porte) {
-                cachorros++;
-            } else if (animal.pelagem) {
-                gatos++;
-            } else {
-                outros++;
-            }
-        });
-        
-        console.log('Contagem: Total=' + total + ', Cachorros=' + cachorros + ', Gatos=' + gatos + ', Outros=' + outros);
-        
+    .then(function(resumo) {
         // Animar contadores
-        animarContador('totalAnimais', total);
-        animarContador('totalCachorros', cachorros);
-        animarContador('totalGatos', gatos);
-        animarContador('totalOutros', outros);
-        
-        return fetch(API_VACINA + '/vencidas');
-    })
-    .then(function(response) { return response.json(); })
-    .then(function(vencidas) {
-        animarContador('vacinasVencidas', vencidas.length);
+        animarContador('totalAnimais', resumo.total);
+        animarContador('totalCachorros', resumo.cachorros);
+        animarContador('totalGatos', resumo.gatos);
+        animarContador('totalOutros', resumo.outros);
+        animarContador('vacinasVencidas', resumo.vacinasVencidas);
         console.log('✅ Estatísticas atualizadas');
     })
     .catch(function(error) {